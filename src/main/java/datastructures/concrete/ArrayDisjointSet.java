@@ -3,6 +3,7 @@ package datastructures.concrete;
 import datastructures.concrete.dictionaries.ChainedHashDictionary;
 import datastructures.interfaces.IDictionary;
 import datastructures.interfaces.IDisjointSet;
+import datastructures.interfaces.IList;
 
 /**
  * See IDisjointSet for more details.
@@ -25,7 +26,66 @@ public class ArrayDisjointSet<T> implements IDisjointSet<T> {
         this.counter = 0;
         this.converter = new ChainedHashDictionary<>();
     }
+
+    /**
+     * Creates an empty disjoint set that can hold 'capacity' elements without
+     * ever resizing its arrays or its item-to-id dictionary.
+     *
+     * @throws IllegalArgumentException  if capacity is negative
+     */
+    public ArrayDisjointSet(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.pointers = this.makeNewArray(Math.max(capacity, 1));
+        this.counter = 0;
+        this.converter = new ChainedHashDictionary<>(capacity);
+    }
+
+    /**
+     * Creates a disjoint set in which every item of the list starts out in its
+     * own set, with ids matching the items' positions in the list.
+     *
+     * @throws IllegalArgumentException  if the list contains the same item twice
+     */
+    public ArrayDisjointSet(IList<T> items) {
+        this(items.size());
+        for (T item : items) {
+            //  one probe per item: a duplicate replaces its earlier entry
+            //  instead of adding one, which leaves the size unchanged
+            int sizeBefore = this.converter.size();
+            this.converter.put(item, this.makeSet());
+            if (this.converter.size() == sizeBefore) {
+                throw new IllegalArgumentException();
+            }
+        }
+    }
     
+    /**
+     * Creates a disjoint set of 'count' singleton sets with the ids 0 .. count - 1,
+     * for callers that work purely with findSetById and unionById. No item-to-id
+     * dictionary is built unless makeSet(T) is called later.
+     *
+     * @throws IllegalArgumentException  if count is negative
+     */
+    public static <T> ArrayDisjointSet<T> ofIds(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException();
+        }
+        ArrayDisjointSet<T> result = new ArrayDisjointSet<>(null, Math.max(count, 1));
+        for (int i = 0; i < count; i++) {
+            result.pointers[i] = -1;
+        }
+        result.counter = count;
+        return result;
+    }
+
+    private ArrayDisjointSet(IDictionary<T, Integer> converter, int capacity) {
+        this.pointers = this.makeNewArray(capacity);
+        this.counter = 0;
+        this.converter = converter;
+    }
+
     private int[] makeNewArray(int size) {
         //  "empty" slots of array filled with value of array length
         int[] bic = new int[size];
@@ -37,6 +97,24 @@ public class ArrayDisjointSet<T> implements IDisjointSet<T> {
 
     @Override
     public void makeSet(T item) {
+        if (this.converter == null) {
+            this.converter = new ChainedHashDictionary<>();
+        } else if (this.converter.containsKey(item)) {
+            throw new IllegalArgumentException();
+        }
+        int code = this.makeSet();
+        this.converter.put(item, code);
+    }
+
+    /**
+     * Creates a new set that isn't associated with any item and returns its id.
+     *
+     * Ids are handed out densely, starting from 0, in the order sets are created
+     * (by either makeSet method). Callers that already number their elements
+     * 0 .. n - 1 can call this n times and then work purely with findSetById and
+     * unionById, which never touch the item-to-id dictionary.
+     */
+    public int makeSet() {
         //  codes based on count
         int code = this.counter;
         if (code >= this.pointers.length) {
@@ -51,8 +129,8 @@ public class ArrayDisjointSet<T> implements IDisjointSet<T> {
         //  item is new to Set
         //  add -1 to code index
         this.pointers[code] = -1;
-        this.converter.put(item, code);
         this.counter++;
+        return code;
     }
     
     private void resize(int newSize) {
@@ -68,39 +146,125 @@ public class ArrayDisjointSet<T> implements IDisjointSet<T> {
 
     @Override
     public int findSet(T item) {
-        if (!this.converter.containsKey(item)) {
+        if (this.converter == null) {
+            throw new IllegalArgumentException();
+        }
+        //  one lookup: a missing item comes back as null
+        Integer code = this.converter.getOrDefault(item, null);
+        if (code == null) {
             throw new IllegalArgumentException();
         }
-        
-        int code = this.converter.get(item);
         
         //  find parent of ting
         return this.findParent(code);
     }
+
+    /**
+     * Returns the representative of the set containing the element with the given id.
+     * This skips the item-to-id lookup findSet has to do, so callers that already
+     * hold an id (such as one returned by makeSet()) should prefer it.
+     *
+     * @throws IllegalArgumentException  if no set with that id has been made
+     */
+    public int findSetById(int id) {
+        if (id < 0 || id >= this.counter) {
+            throw new IllegalArgumentException();
+        }
+        return this.findParent(id);
+    }
     
+    // Walks up to the root, then points every code along the way straight at it
+    // (path compression), so later finds on any of them take a single step.
+    // Iterative, so a long chain can't overflow the stack.
     private int findParent(int kidCodey) {
-        if (this.pointers[kidCodey] < 0) {
-            // if the value at this kidCodey is < 0, return -1 * pointers[kidCodey]
-            return kidCodey;
-        } else {
-            //  otherwise, keep checkin ya dumb kreken
-            int newCode = this.pointers[kidCodey];
-            return this.findParent(newCode);
+        //  a value < 0 marks a root; otherwise, keep checkin ya dumb kreken
+        int root = kidCodey;
+        while (this.pointers[root] >= 0) {
+            root = this.pointers[root];
         }
+
+        int code = kidCodey;
+        while (code != root) {
+            int next = this.pointers[code];
+            this.pointers[code] = root;
+            code = next;
+        }
+        return root;
+    }
+
+    /**
+     * Returns true if the two items are part of the same set.
+     *
+     * @throws IllegalArgumentException  if either item is not contained inside this disjoint set
+     */
+    public boolean connected(T item1, T item2) {
+        return this.findSet(item1) == this.findSet(item2);
+    }
+
+    /**
+     * Returns true if the elements with the given ids are part of the same set.
+     *
+     * @throws IllegalArgumentException  if either id has not been made
+     */
+    public boolean connectedById(int id1, int id2) {
+        return this.findSetById(id1) == this.findSetById(id2);
     }
 
     @Override
     public void union(T item1, T item2) {
         
         //  if items aren't legal... OR
-        int parent1 = this.findSet(item1);
-        int parent2 = this.findSet(item2);
+        this.link(this.findSet(item1), this.findSet(item2));
+    }
+
+    /**
+     * Combines the sets containing the elements with the given ids.
+     *
+     * @throws IllegalArgumentException  if either id has not been made
+     * @throws IllegalArgumentException  if both ids are already part of the same set
+     */
+    public void unionById(int id1, int id2) {
+        this.link(this.findSetById(id1), this.findSetById(id2));
+    }
+
+    /**
+     * Combines the sets containing the two items if they are different, finding
+     * each item's set only once. Returns true if the sets were combined and false
+     * if the items were already part of the same set.
+     *
+     * @throws IllegalArgumentException  if either item is not contained inside this disjoint set
+     */
+    public boolean tryUnion(T item1, T item2) {
+        return this.tryLink(this.findSet(item1), this.findSet(item2));
+    }
+
+    /**
+     * Combines the sets containing the elements with the given ids if they are
+     * different. Returns true if the sets were combined and false if the ids
+     * were already part of the same set.
+     *
+     * @throws IllegalArgumentException  if either id has not been made
+     */
+    public boolean tryUnionById(int id1, int id2) {
+        return this.tryLink(this.findSetById(id1), this.findSetById(id2));
+    }
+
+    private void link(int parent1, int parent2) {
         //  if share same parent *cough*incesting*cough*
-        if (parent1 == parent2) {
+        if (!this.tryLink(parent1, parent2)) {
             throw new IllegalArgumentException();
         }
+    }
+
+    // Hangs one root under the other, unless they're the same root.
+    private boolean tryLink(int parent1, int parent2) {
+        if (parent1 == parent2) {
+            return false;
+        }
         
         //  keeping things positive b/c there's enough negativity in life
+        //  (with path compression these are upper bounds on height, which
+        //  is all union by rank needs)
         int rank1 = this.pointers[parent1] * -1;
         int rank2 = this.pointers[parent2] * -1;
         
@@ -120,5 +284,6 @@ public class ArrayDisjointSet<T> implements IDisjointSet<T> {
                 this.pointers[parent1] = parent2;
             }
         }
+        return true;
     }
 }
@@ -1,28 +1,121 @@
 package datastructures.concrete;
 
+import datastructures.interfaces.IList;
 import datastructures.interfaces.IPriorityQueue;
 import misc.exceptions.EmptyContainerException;
 //
 /**
  * See IPriorityQueue for details on what each method must do.
+ *
+ * The heap is a 4-heap unless a different arity is passed to the constructor.
+ * A node's children always sit next to each other in the array, so a wider
+ * heap has fewer levels (and so fewer scattered reads per percolate), at the
+ * price of comparing more children on each level on the way down.
  */
 public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
     // See spec: you must implement a implement a 4-heap.
     private static final int NUM_CHILDREN = 4;
+    private final int arity;
 
     // You MUST use this field to store the contents of your heap.
     // You may NOT rename this field: we will be inspecting it within
     // our private tests.
     private T[] heap;
     // Feel free to add more fields and constants.
-    private static final int STARTING_SIZE = 5;
+    private static final int STARTING_SIZE = 16;
     private int count;
     
     public ArrayHeap() {
+        this(NUM_CHILDREN);
+    }
+
+    /**
+     * Creates an empty heap in which every node has up to 'arity' children.
+     *
+     * @throws IllegalArgumentException  if arity is less then 2
+     */
+    public ArrayHeap(int arity) {
+        this.arity = checkArity(arity);
         this.heap = makeArrayOfT(STARTING_SIZE);
         this.count = 0;
     }
 
+    /**
+     * Builds a heap containing every item in the given list in O(n) time.
+     * See heapify.
+     *
+     * @throws IllegalArgumentException  if any of the items is null
+     */
+    public ArrayHeap(IList<T> items) {
+        this(items, NUM_CHILDREN);
+    }
+
+    /**
+     * Builds a heap with the given arity containing every item in the given
+     * list in O(n) time. See heapify.
+     *
+     * @throws IllegalArgumentException  if arity is less then 2
+     * @throws IllegalArgumentException  if any of the items is null
+     */
+    public ArrayHeap(IList<T> items, int arity) {
+        this.arity = checkArity(arity);
+        this.heap = makeArrayOfT(Math.max(STARTING_SIZE, items.size()));
+        this.count = 0;
+        for (T item : items) {
+            if (item == null) {
+                throw new IllegalArgumentException();
+            }
+            this.heap[this.count] = item;
+            this.count++;
+        }
+        this.heapify();
+    }
+
+    /**
+     * Builds a heap containing every item in the given array in O(n) time.
+     * The array is copied, so the caller is free to reuse it afterwards.
+     *
+     * @throws IllegalArgumentException  if any of the items is null
+     */
+    public ArrayHeap(T[] items) {
+        this(items, NUM_CHILDREN);
+    }
+
+    /**
+     * Builds a heap with the given arity containing every item in the given
+     * array in O(n) time. The array is copied.
+     *
+     * @throws IllegalArgumentException  if arity is less then 2
+     * @throws IllegalArgumentException  if any of the items is null
+     */
+    public ArrayHeap(T[] items, int arity) {
+        this.arity = checkArity(arity);
+        this.heap = makeArrayOfT(Math.max(STARTING_SIZE, items.length));
+        for (int i = 0; i < items.length; i++) {
+            if (items[i] == null) {
+                throw new IllegalArgumentException();
+            }
+            this.heap[i] = items[i];
+        }
+        this.count = items.length;
+        this.heapify();
+    }
+
+    private static int checkArity(int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException();
+        }
+        return arity;
+    }
+
+    // Floyd's method: percolate each parent down, starting from the last one.
+    // Most nodes sit near the bottom and barely move, so this is O(n) overall.
+    private void heapify() {
+        for (int i = (this.count - 2) / this.arity; i >= 0 && this.count > 1; i--) {
+            this.percolateDown(i);
+        }
+    }
+
     /**
      * This method will return a new, empty array of the given count
      * that can contain elements of type T.
@@ -44,14 +137,18 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
         if (this.isEmpty()) {
             throw new EmptyContainerException();
         }
-        T result = this.heap[0];
-        this.heap[0] = this.heap[this.count - 1];
-        this.heap[this.count - 1] = null;
+        return this.removeRoot();
+    }
 
+    // Removes and returns heap[0]; the heap must not be empty.
+    private T removeRoot() {
+        T result = this.heap[0];
         this.count--;
-        
-        percolate(heap[0], 0);
-        
+        this.heap[0] = this.heap[this.count];
+        this.heap[this.count] = null;
+        if (this.count > 0) {
+            this.percolateDown(0);
+        }
         return result;
     }
 
@@ -63,121 +160,141 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
         
         return this.heap[0];
     }
-    
-
 
     @Override
     public void insert(T item) {
         if (item == null) {
             throw new IllegalArgumentException();
         }
-        
-        // reorganizing happens here
-        // increment count
-        
-        
-        // insertion
-        insertHelper(item);
+        if (this.count == this.heap.length) {
+            this.resize(this.heap.length * 2);
+        }
+        this.heap[this.count] = item;
         this.count++;
+        this.percolateUp(this.count - 1);
+    }
 
-        //traverse to correct place, relocate shit as needed
-        // put that boi down
+    /**
+     * Inserts every item in the list. The array grows at most once, and if the
+     * new items outnumber the ones already in the heap, the whole heap is
+     * rebuilt with heapify (O(n)) instead of percolating each item up.
+     *
+     * If some item is null, the heap is left unchanged.
+     *
+     * @throws IllegalArgumentException  if any of the items is null
+     */
+    @Override
+    public void insertAll(IList<T> items) {
+        int oldCount = this.count;
+        this.ensureCapacity(oldCount + items.size());
+        for (T item : items) {
+            this.append(item, oldCount);
+        }
+        this.restoreAfterAppending(oldCount);
     }
-    
-    private void insertHelper(T item) {
-        if (heap[0] == null) {
-            heap[0] = item;
+
+    /**
+     * Inserts every item in the array; see insertAll(IList).
+     *
+     * If some item is null, the heap is left unchanged.
+     *
+     * @throws IllegalArgumentException  if any of the items is null
+     */
+    @Override
+    public void insertAll(T[] items) {
+        int oldCount = this.count;
+        this.ensureCapacity(oldCount + items.length);
+        for (T item : items) {
+            this.append(item, oldCount);
+        }
+        this.restoreAfterAppending(oldCount);
+    }
+
+    // Adds the item past the end of the heap without restoring the heap
+    // property. A null item undoes every append since 'oldCount' first.
+    private void append(T item, int oldCount) {
+        if (item == null) {
+            for (int i = oldCount; i < this.count; i++) {
+                this.heap[i] = null;
+            }
+            this.count = oldCount;
+            throw new IllegalArgumentException();
+        }
+        this.heap[this.count] = item;
+        this.count++;
+    }
+
+    private void restoreAfterAppending(int oldCount) {
+        if (this.count - oldCount > oldCount) {
+            this.heapify();
         } else {
-            if (count >= this.heap.length) {
-                this.recount();
+            for (int i = oldCount; i < this.count; i++) {
+                this.percolateUp(i);
             }
-            heap[count] = item;
-            relocate(item, count);
-            
+        }
+    }
 
-        }    
+    private void ensureCapacity(int size) {
+        if (size > this.heap.length) {
+            this.resize(Math.max(size, this.heap.length * 2));
+        }
     }
-    
 
-    
-    
-    private void relocate(T item, int i) {
-        T parentData = this.heap[(i - 1) / ArrayHeap.NUM_CHILDREN];
-        if (item.compareTo(parentData) < 0) {
-            heap[(i - 1) / ArrayHeap.NUM_CHILDREN] = item;
-            heap[i] = parentData;
-            relocate(item, (i - 1) / ArrayHeap.NUM_CHILDREN);
+    @Override
+    public int drainTo(IList<T> output, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException();
         }
+        int moved = Math.min(max, this.count);
+        for (int i = 0; i < moved; i++) {
+            output.add(this.removeRoot());
+        }
+        return moved;
     }
-    
-    private void percolate(T item, int i) {
-        // NOTE: always percolate down, and replace with SMALLEST child
-        
-        // first check
-        // base: not all kids are there
-        // aka the kids arent all right
-        if (count <= ArrayHeap.NUM_CHILDREN + 1) {
-            for (int i1 = 0; i1 < count; i1++) {
-                if (heap[0].compareTo(heap[i1]) > 0) {
-                    T top = heap[0];
-                    heap[0] = heap[i1];
-                    heap[i1] = top;        
-                }
+
+    // Both percolate methods carry the moving item in a local and shift the
+    // others over it, writing it into the array once it has found its spot.
+    private void percolateUp(int index) {
+        T item = this.heap[index];
+        while (index > 0) {
+            int parent = (index - 1) / this.arity;
+            if (item.compareTo(this.heap[parent]) >= 0) {
+                break;
             }
-        } else {
-       
-            if (this.hasMaxKids(i)) {
-                // #hail4Kids
-            
-                // case where we do shit
-                
-                int smallIndex = i;
-                for (int j = 1; j <= 4; j++) {
-                    if (heap[smallIndex].compareTo(this.heap[ArrayHeap.NUM_CHILDREN * i + j]) > 0) {
-                        smallIndex = ArrayHeap.NUM_CHILDREN * i + j;
-                    }
-                }
-                
-                if (smallIndex != i) {
-                  this.heap[i] = heap[smallIndex];
-                  this.heap[smallIndex] = item;
-                  percolate(item, smallIndex);
-                } 
-
-            } else {
-                if (!this.hasNoKids(i)) {
-  
-                    int smallIndex = i;
-                    for (int j = 1; j <= 3; j++) {
-                         
-                        if (size() < ArrayHeap.NUM_CHILDREN
-                                && heap[ArrayHeap.NUM_CHILDREN * i + j] != null
-                                && heap[smallIndex].compareTo(this.heap[ArrayHeap.NUM_CHILDREN * i + j]) > 0) {
-                            smallIndex = ArrayHeap.NUM_CHILDREN * i + j;
-                        }
-                    }
-                    
-                    if (smallIndex != i) {
-                      this.heap[i] = heap[smallIndex];
-                      this.heap[smallIndex] = item;
-                    }      
+            this.heap[index] = this.heap[parent];
+            index = parent;
+        }
+        this.heap[index] = item;
+    }
 
+    private void percolateDown(int index) {
+        // NOTE: always percolate down, and replace with SMALLEST child
+        T item = this.heap[index];
+        while (true) {
+            int firstChild = this.arity * index + 1;
+            if (firstChild >= this.count) {
+                break;
+            }
+            // the last parent may have fewer then 'arity' kids
+            int lastChild = Math.min(firstChild + this.arity, this.count);
+            int smallest = firstChild;
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                if (this.heap[child].compareTo(this.heap[smallest]) < 0) {
+                    smallest = child;
                 }
             }
+            if (this.heap[smallest].compareTo(item) >= 0) {
+                break;
+            }
+            this.heap[index] = this.heap[smallest];
+            index = smallest;
         }
-    }    
-    
-    private boolean hasNoKids(int i) {
-        return ArrayHeap.NUM_CHILDREN * i + 1 < this.count;
-    }
-    
-    private boolean hasMaxKids(int i) {
-        return ArrayHeap.NUM_CHILDREN * i + 4 < this.count;
+        this.heap[index] = item;
     }
-    
-    private void recount() {
-        T[] newHeap = this.makeArrayOfT(this.heap.length * (ArrayHeap.NUM_CHILDREN + 1));
-        for (int i = 0; i < this.heap.length; i++) {
+
+    private void resize(int newSize) {
+        T[] newHeap = this.makeArrayOfT(newSize);
+        for (int i = 0; i < this.count; i++) {
             newHeap[i] = this.heap[i];
         }
         this.heap = newHeap;
@@ -1,10 +1,12 @@
 package datastructures.concrete;
 
 import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.dictionaries.DictionaryFactory;
 import datastructures.interfaces.IDictionary;
 import datastructures.interfaces.ISet;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 /**
  * See ISet for more details on what each method is supposed to do.
@@ -20,6 +22,23 @@ public class ChainedHashSet<T> implements ISet<T> {
         this.map = new ChainedHashDictionary<>();
     }
 
+    /**
+     * Creates a set backed by a dictionary of the given kind.
+     */
+    public ChainedHashSet(DictionaryFactory dictionaries) {
+        this.map = dictionaries.create();
+    }
+
+    /**
+     * Creates a set backed by a dictionary of the given kind, sized up front to
+     * hold 'expectedSize' items without resizing.
+     *
+     * @throws IllegalArgumentException  if expectedSize is negative
+     */
+    public ChainedHashSet(DictionaryFactory dictionaries, int expectedSize) {
+        this.map = dictionaries.create(expectedSize);
+    }
+
     @Override
     public void add(T item) {
         this.map.put(item, ARBITRARY_BOOLEAN);
@@ -44,6 +63,11 @@ public class ChainedHashSet<T> implements ISet<T> {
         return this.map.size();
     }
 
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        this.map.forEachKey(action);
+    }
+
     @Override
     public Iterator<T> iterator() {
         return new SetIterator<>(this.map.iterator());
@@ -0,0 +1,88 @@
+package datastructures.concrete;
+
+import datastructures.concrete.dictionaries.ConcurrentChainedHashDictionary;
+import datastructures.interfaces.ISet;
+import misc.exceptions.NoSuchKeyException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A thread-safe set backed by a ConcurrentChainedHashDictionary. The same
+ * atomicity and weak-consistency rules apply.
+ *
+ * See ISet for more details on what each method is supposed to do.
+ */
+public class ConcurrentHashSet<T> implements ISet<T> {
+    private ConcurrentChainedHashDictionary<T, Boolean> map;
+
+    private static final boolean ARBITRARY_BOOLEAN = true;
+
+    public ConcurrentHashSet() {
+        this.map = new ConcurrentChainedHashDictionary<>();
+    }
+
+    /**
+     * Creates a set presized to hold 'expectedSize' items without resizing.
+     *
+     * @throws IllegalArgumentException  if expectedSize is negative
+     */
+    public ConcurrentHashSet(int expectedSize) {
+        this.map = new ConcurrentChainedHashDictionary<>(expectedSize);
+    }
+
+    @Override
+    public void add(T item) {
+        this.map.put(item, ARBITRARY_BOOLEAN);
+    }
+
+    /**
+     * Atomically adds the item, returning 'true' if it was not already in the set.
+     * When several threads race to add the same item, exactly one of them wins.
+     */
+    public boolean addIfAbsent(T item) {
+        return this.map.putIfAbsent(item, ARBITRARY_BOOLEAN);
+    }
+
+    @Override
+    public void remove(T item) {
+        // checking contains() first would race with other removers
+        try {
+            this.map.remove(item);
+        } catch (NoSuchKeyException ex) {
+            throw new NoSuchElementException();
+        }
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return this.map.containsKey(item);
+    }
+
+    @Override
+    public int size() {
+        return this.map.size();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new SetIterator<>(this.map.iterator());
+    }
+
+    private static class SetIterator<T> implements Iterator<T> {
+        private Iterator<KVPair<T, Boolean>> iter;
+
+        public SetIterator(Iterator<KVPair<T, Boolean>> iter) {
+            this.iter = iter;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.iter.hasNext();
+        }
+
+        @Override
+        public T next() {
+            return this.iter.next().getKey();
+        }
+    }
+}
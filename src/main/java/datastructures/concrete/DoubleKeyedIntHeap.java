@@ -0,0 +1,223 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IKeyedIntQueue;
+import misc.exceptions.EmptyContainerException;
+
+/**
+ * A binary min-heap of non-negative int values, each ordered by a double key.
+ *
+ * The heap is stored as two parallel arrays, one holding each slot's key and
+ * one holding its value, so comparing two entries reads two doubles straight
+ * out of an array rather then calling compareTo on two objects. A third array,
+ * indexed by value, tracks where every queued value sits, so a value's key can
+ * be lowered in place (decreaseKey) and a value can be queued at most once.
+ *
+ * This is meant for graph searches that number their vertices (or search
+ * nodes) 0, 1, 2, ...: the arrays grow as needed, but a heap constructed with
+ * the expected number of values never has to resize.
+ */
+public class DoubleKeyedIntHeap implements IKeyedIntQueue {
+    private double[] keys;
+    private int[] values;
+    private int[] positions;
+    private int count;
+
+    private static final int STARTING_SIZE = 16;
+    private static final int ABSENT = -1;
+
+    public DoubleKeyedIntHeap() {
+        this(STARTING_SIZE);
+    }
+
+    /**
+     * Creates an empty heap that can hold the values 0 .. capacity - 1 without
+     * resizing.
+     *
+     * @throws IllegalArgumentException  if capacity is negative
+     */
+    public DoubleKeyedIntHeap(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        capacity = Math.max(capacity, 1);
+        this.keys = new double[capacity];
+        this.values = new int[capacity];
+        this.positions = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            this.positions[i] = ABSENT;
+        }
+        this.count = 0;
+    }
+
+    /**
+     * Adds the value to the heap with the given key.
+     *
+     * @throws IllegalArgumentException  if the value is negative or already in the heap
+     */
+    @Override
+    public void insert(int value, double key) {
+        if (value < 0) {
+            throw new IllegalArgumentException();
+        }
+        if (value >= this.positions.length) {
+            this.growPositions(Math.max(value + 1, this.positions.length * 2));
+        }
+        if (this.positions[value] != ABSENT) {
+            throw new IllegalArgumentException();
+        }
+        if (this.count == this.keys.length) {
+            this.growSlots(this.keys.length * 2);
+        }
+        this.keys[this.count] = key;
+        this.values[this.count] = value;
+        this.positions[value] = this.count;
+        this.count++;
+        this.percolateUp(this.count - 1);
+    }
+
+    /**
+     * Lowers the key of a value that is already in the heap.
+     *
+     * @throws IllegalArgumentException  if the value is not in the heap
+     * @throws IllegalArgumentException  if the new key is greater then the current one
+     */
+    @Override
+    public void decreaseKey(int value, double key) {
+        if (!this.contains(value)) {
+            throw new IllegalArgumentException();
+        }
+        int index = this.positions[value];
+        if (key > this.keys[index]) {
+            throw new IllegalArgumentException();
+        }
+        this.keys[index] = key;
+        this.percolateUp(index);
+    }
+
+    /**
+     * Removes and returns the value with the smallest key.
+     *
+     * @throws EmptyContainerException  if the heap is empty
+     */
+    @Override
+    public int removeMin() {
+        if (this.count == 0) {
+            throw new EmptyContainerException();
+        }
+        int result = this.values[0];
+        this.positions[result] = ABSENT;
+        this.count--;
+        if (this.count > 0) {
+            this.keys[0] = this.keys[this.count];
+            this.values[0] = this.values[this.count];
+            this.positions[this.values[0]] = 0;
+            this.percolateDown(0);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the value with the smallest key without removing it.
+     *
+     * @throws EmptyContainerException  if the heap is empty
+     */
+    @Override
+    public int peekMin() {
+        if (this.count == 0) {
+            throw new EmptyContainerException();
+        }
+        return this.values[0];
+    }
+
+    /**
+     * Returns the smallest key in the heap.
+     *
+     * @throws EmptyContainerException  if the heap is empty
+     */
+    @Override
+    public double peekMinKey() {
+        if (this.count == 0) {
+            throw new EmptyContainerException();
+        }
+        return this.keys[0];
+    }
+
+    /**
+     * Returns true if the value is currently in the heap.
+     */
+    @Override
+    public boolean contains(int value) {
+        return value >= 0 && value < this.positions.length && this.positions[value] != ABSENT;
+    }
+
+    @Override
+    public int size() {
+        return this.count;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.count == 0;
+    }
+
+    // Both percolate methods hold the moving entry in locals and shift the
+    // others over it, writing it back once it has found its slot.
+    private void percolateUp(int index) {
+        double key = this.keys[index];
+        int value = this.values[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (this.keys[parent] <= key) {
+                break;
+            }
+            this.move(parent, index);
+            index = parent;
+        }
+        this.keys[index] = key;
+        this.values[index] = value;
+        this.positions[value] = index;
+    }
+
+    private void percolateDown(int index) {
+        double key = this.keys[index];
+        int value = this.values[index];
+        while (2 * index + 1 < this.count) {
+            int child = 2 * index + 1;
+            if (child + 1 < this.count && this.keys[child + 1] < this.keys[child]) {
+                child++;
+            }
+            if (this.keys[child] >= key) {
+                break;
+            }
+            this.move(child, index);
+            index = child;
+        }
+        this.keys[index] = key;
+        this.values[index] = value;
+        this.positions[value] = index;
+    }
+
+    private void move(int from, int to) {
+        this.keys[to] = this.keys[from];
+        this.values[to] = this.values[from];
+        this.positions[this.values[to]] = to;
+    }
+
+    private void growSlots(int newSize) {
+        double[] newKeys = new double[newSize];
+        int[] newValues = new int[newSize];
+        System.arraycopy(this.keys, 0, newKeys, 0, this.count);
+        System.arraycopy(this.values, 0, newValues, 0, this.count);
+        this.keys = newKeys;
+        this.values = newValues;
+    }
+
+    private void growPositions(int newSize) {
+        int[] newPositions = new int[newSize];
+        System.arraycopy(this.positions, 0, newPositions, 0, this.positions.length);
+        for (int i = this.positions.length; i < newSize; i++) {
+            newPositions[i] = ABSENT;
+        }
+        this.positions = newPositions;
+    }
+}
@@ -0,0 +1,150 @@
+package datastructures.concrete;
+
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IIndexedPriorityQueue;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A 4-heap that remembers the array index of every element it contains.
+ *
+ * See IIndexedPriorityQueue for details on what each method must do.
+ */
+public class IndexedArrayHeap<T extends Comparable<T>> implements IIndexedPriorityQueue<T> {
+    private static final int NUM_CHILDREN = 4;
+    private static final int STARTING_SIZE = 16;
+
+    private T[] heap;
+    private int count;
+
+    // Maps every element currently in the heap to its index inside 'heap'.
+    // Invariant: positions.get(heap[i]) == i for every 0 <= i < count.
+    private IDictionary<T, Integer> positions;
+
+    public IndexedArrayHeap() {
+        this.heap = this.makeArrayOfT(STARTING_SIZE);
+        this.count = 0;
+        this.positions = new ChainedHashDictionary<>();
+    }
+
+    @SuppressWarnings("unchecked")
+    private T[] makeArrayOfT(int size) {
+        return (T[]) (new Comparable[size]);
+    }
+
+    @Override
+    public T removeMin() {
+        if (this.isEmpty()) {
+            throw new EmptyContainerException();
+        }
+        T result = this.heap[0];
+        this.positions.remove(result);
+
+        this.count--;
+        if (this.count > 0) {
+            this.heap[0] = this.heap[this.count];
+            this.positions.put(this.heap[0], 0);
+        }
+        this.heap[this.count] = null;
+
+        if (this.count > 0) {
+            this.percolateDown(0);
+        }
+        return result;
+    }
+
+    @Override
+    public T peekMin() {
+        if (this.isEmpty()) {
+            throw new EmptyContainerException();
+        }
+        return this.heap[0];
+    }
+
+    @Override
+    public void insert(T item) {
+        if (item == null || this.positions.containsKey(item)) {
+            throw new IllegalArgumentException();
+        }
+        if (this.count == this.heap.length) {
+            this.resize(this.heap.length * 2);
+        }
+        this.heap[this.count] = item;
+        this.positions.put(item, this.count);
+        this.count++;
+        this.percolateUp(this.count - 1);
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return item != null && this.positions.containsKey(item);
+    }
+
+    @Override
+    public void decreaseKey(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException();
+        }
+        if (!this.positions.containsKey(item)) {
+            throw new NoSuchElementException();
+        }
+        this.percolateUp(this.positions.get(item));
+    }
+
+    @Override
+    public int size() {
+        return this.count;
+    }
+
+    private void percolateUp(int index) {
+        T item = this.heap[index];
+        while (index > 0) {
+            int parent = (index - 1) / NUM_CHILDREN;
+            if (item.compareTo(this.heap[parent]) >= 0) {
+                break;
+            }
+            this.place(this.heap[parent], index);
+            index = parent;
+        }
+        this.place(item, index);
+    }
+
+    private void percolateDown(int index) {
+        T item = this.heap[index];
+        while (true) {
+            int firstChild = NUM_CHILDREN * index + 1;
+            if (firstChild >= this.count) {
+                break;
+            }
+            int lastChild = Math.min(firstChild + NUM_CHILDREN, this.count);
+            int smallest = firstChild;
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                if (this.heap[child].compareTo(this.heap[smallest]) < 0) {
+                    smallest = child;
+                }
+            }
+            if (this.heap[smallest].compareTo(item) >= 0) {
+                break;
+            }
+            this.place(this.heap[smallest], index);
+            index = smallest;
+        }
+        this.place(item, index);
+    }
+
+    // Stores the item at the given index and records its new position.
+    private void place(T item, int index) {
+        this.heap[index] = item;
+        this.positions.put(item, index);
+    }
+
+    private void resize(int newSize) {
+        T[] newHeap = this.makeArrayOfT(newSize);
+        for (int i = 0; i < this.count; i++) {
+            newHeap[i] = this.heap[i];
+        }
+        this.heap = newHeap;
+    }
+}
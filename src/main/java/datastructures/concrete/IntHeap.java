@@ -0,0 +1,124 @@
+package datastructures.concrete;
+
+import misc.exceptions.EmptyContainerException;
+
+/**
+ * A binary min-heap of primitive ints.
+ *
+ * By default the ints are ordered by value. A caller can supply an IntComparator
+ * instead, which lets the heap order ids by some property stored elsewhere (for
+ * example, the weight of edge 'i' in a parallel double array) without boxing the
+ * ids or wrapping them in objects.
+ */
+public class IntHeap {
+    private int[] heap;
+    private int count;
+    private IntComparator order;
+
+    private static final int STARTING_SIZE = 16;
+
+    /**
+     * Decides the order of two ints; see java.util.Comparator for the contract.
+     */
+    @FunctionalInterface
+    public interface IntComparator {
+        int compare(int a, int b);
+    }
+
+    public IntHeap() {
+        this(Integer::compare);
+    }
+
+    public IntHeap(IntComparator order) {
+        this.heap = new int[STARTING_SIZE];
+        this.count = 0;
+        this.order = order;
+    }
+
+    /**
+     * Builds a heap out of the given ints in O(n) time. The array is copied, so the
+     * caller is free to reuse it afterwards.
+     */
+    public IntHeap(int[] items, IntComparator order) {
+        this.heap = new int[Math.max(items.length, 1)];
+        System.arraycopy(items, 0, this.heap, 0, items.length);
+        this.count = items.length;
+        this.order = order;
+        for (int i = this.count / 2 - 1; i >= 0; i--) {
+            this.percolateDown(i);
+        }
+    }
+
+    /**
+     * Removes and returns the smallest int in the heap.
+     *
+     * @throws EmptyContainerException  if the heap is empty
+     */
+    public int removeMin() {
+        if (this.count == 0) {
+            throw new EmptyContainerException();
+        }
+        int result = this.heap[0];
+        this.count--;
+        if (this.count > 0) {
+            this.heap[0] = this.heap[this.count];
+            this.percolateDown(0);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the smallest int in the heap without removing it.
+     *
+     * @throws EmptyContainerException  if the heap is empty
+     */
+    public int peekMin() {
+        if (this.count == 0) {
+            throw new EmptyContainerException();
+        }
+        return this.heap[0];
+    }
+
+    public void insert(int item) {
+        if (this.count == this.heap.length) {
+            int[] newHeap = new int[this.heap.length * 2];
+            System.arraycopy(this.heap, 0, newHeap, 0, this.count);
+            this.heap = newHeap;
+        }
+        int index = this.count;
+        this.count++;
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (this.order.compare(this.heap[parent], item) <= 0) {
+                break;
+            }
+            this.heap[index] = this.heap[parent];
+            index = parent;
+        }
+        this.heap[index] = item;
+    }
+
+    private void percolateDown(int index) {
+        int item = this.heap[index];
+        while (2 * index + 1 < this.count) {
+            int child = 2 * index + 1;
+            if (child + 1 < this.count && this.order.compare(this.heap[child + 1], this.heap[child]) < 0) {
+                child++;
+            }
+            if (this.order.compare(this.heap[child], item) >= 0) {
+                break;
+            }
+            this.heap[index] = this.heap[child];
+            index = child;
+        }
+        this.heap[index] = item;
+    }
+
+    public int size() {
+        return this.count;
+    }
+
+    public boolean isEmpty() {
+        return this.count == 0;
+    }
+}
@@ -0,0 +1,171 @@
+package datastructures.concrete;
+
+import datastructures.concrete.dictionaries.Hashing;
+import misc.exceptions.NoSuchKeyException;
+
+/**
+ * A dictionary from primitive int keys to primitive int values.
+ *
+ * It works like OpenAddressingDictionary (linear probing with backward-shift
+ * deletion over flat arrays), but because nothing is ever boxed, a lookup
+ * touches nothing besides three parallel arrays.
+ */
+public class IntIntDictionary {
+    private int[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int size;
+
+    private static final int STARTING_SIZE = 16;
+
+    public IntIntDictionary() {
+        this(STARTING_SIZE / 2);
+    }
+
+    /**
+     * Creates a dictionary that can hold 'expectedSize' pairs without resizing.
+     *
+     * @throws IllegalArgumentException  if expectedSize is negative
+     */
+    public IntIntDictionary(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException();
+        }
+        int capacity = STARTING_SIZE;
+        // keep the load factor at or below 1/2
+        while (capacity < 2 * expectedSize) {
+            capacity *= 2;
+        }
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+        this.used = new boolean[capacity];
+        this.size = 0;
+    }
+
+    private static int home(int key, int mask) {
+        return Hashing.spread(key) & mask;
+    }
+
+    // Returns the slot holding the key, or -1 if it isn't present.
+    private int findSlot(int key) {
+        int mask = this.keys.length - 1;
+        int slot = home(key, mask);
+        while (this.used[slot]) {
+            if (this.keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the value corresponding to the given key.
+     *
+     * @throws NoSuchKeyException  if the dictionary does not contain the given key
+     */
+    public int get(int key) {
+        int slot = this.findSlot(key);
+        if (slot == -1) {
+            throw new NoSuchKeyException();
+        }
+        return this.values[slot];
+    }
+
+    /**
+     * Returns the value corresponding to the given key, or 'defaultValue' if
+     * the key is not present.
+     */
+    public int getOrDefault(int key, int defaultValue) {
+        int slot = this.findSlot(key);
+        return slot == -1 ? defaultValue : this.values[slot];
+    }
+
+    /**
+     * Adds the key-value pair, replacing the old value if the key is already present.
+     */
+    public void put(int key, int value) {
+        int mask = this.keys.length - 1;
+        int slot = home(key, mask);
+        while (this.used[slot]) {
+            if (this.keys[slot] == key) {
+                this.values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        this.used[slot] = true;
+        this.keys[slot] = key;
+        this.values[slot] = value;
+        this.size++;
+
+        if (2 * this.size > this.keys.length) {
+            this.resize(this.keys.length * 2);
+        }
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = this.keys;
+        int[] oldValues = this.values;
+        boolean[] oldUsed = this.used;
+
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+        this.used = new boolean[capacity];
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = home(oldKeys[i], mask);
+                while (this.used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                this.used[slot] = true;
+                this.keys[slot] = oldKeys[i];
+                this.values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Removes the given key, returning the value it used to map to.
+     *
+     * @throws NoSuchKeyException  if the dictionary does not contain the given key
+     */
+    public int remove(int key) {
+        int slot = this.findSlot(key);
+        if (slot == -1) {
+            throw new NoSuchKeyException();
+        }
+        int value = this.values[slot];
+
+        // Backward-shift deletion; see OpenAddressingDictionary.remove
+        int mask = this.keys.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (this.used[next]) {
+            int home = home(this.keys[next], mask);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                this.keys[hole] = this.keys[next];
+                this.values[hole] = this.values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        this.used[hole] = false;
+        this.size--;
+        return value;
+    }
+
+    public boolean containsKey(int key) {
+        return this.findSlot(key) != -1;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+}
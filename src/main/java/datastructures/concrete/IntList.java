@@ -0,0 +1,102 @@
+package datastructures.concrete;
+
+import misc.exceptions.EmptyContainerException;
+
+/**
+ * A growable list of primitive ints, backed by a single int array.
+ *
+ * This mirrors the parts of IList that integer-id code needs, without boxing
+ * every element into an Integer.
+ */
+public class IntList {
+    private int[] data;
+    private int size;
+
+    private static final int STARTING_SIZE = 4;
+
+    public IntList() {
+        this(STARTING_SIZE);
+    }
+
+    /**
+     * Creates an empty list that can hold 'capacity' ints before it has to grow.
+     *
+     * @throws IllegalArgumentException  if capacity is negative
+     */
+    public IntList(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.data = new int[Math.max(capacity, 1)];
+        this.size = 0;
+    }
+
+    /**
+     * Adds the given int to the end of the list.
+     */
+    public void add(int item) {
+        if (this.size == this.data.length) {
+            int[] newData = new int[this.data.length * 2];
+            System.arraycopy(this.data, 0, newData, 0, this.size);
+            this.data = newData;
+        }
+        this.data[this.size] = item;
+        this.size++;
+    }
+
+    /**
+     * Removes and returns the int at the end of the list.
+     *
+     * @throws EmptyContainerException  if the list is empty
+     */
+    public int removeLast() {
+        if (this.size == 0) {
+            throw new EmptyContainerException();
+        }
+        this.size--;
+        return this.data[this.size];
+    }
+
+    /**
+     * Returns the int at the given index.
+     *
+     * @throws IndexOutOfBoundsException  if the index is negative or not less then size()
+     */
+    public int get(int index) {
+        this.checkIndex(index);
+        return this.data[index];
+    }
+
+    /**
+     * Overwrites the int at the given index.
+     *
+     * @throws IndexOutOfBoundsException  if the index is negative or not less then size()
+     */
+    public void set(int index, int item) {
+        this.checkIndex(index);
+        this.data[index] = item;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns a copy of the list's contents, in order.
+     */
+    public int[] toArray() {
+        int[] result = new int[this.size];
+        System.arraycopy(this.data, 0, result, 0, this.size);
+        return result;
+    }
+}
@@ -0,0 +1,57 @@
+package datastructures.concrete;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A set of primitive ints. Like ChainedHashSet, it is a thin wrapper around a
+ * dictionary (here, an IntIntDictionary) whose values are ignored.
+ */
+public class IntSet {
+    private IntIntDictionary map;
+
+    private static final int ARBITRARY_INT = 0;
+
+    public IntSet() {
+        this.map = new IntIntDictionary();
+    }
+
+    /**
+     * Creates a set that can hold 'expectedSize' ints without resizing.
+     *
+     * @throws IllegalArgumentException  if expectedSize is negative
+     */
+    public IntSet(int expectedSize) {
+        this.map = new IntIntDictionary(expectedSize);
+    }
+
+    /**
+     * Adds the given int to the set. Does nothing if it's already present.
+     */
+    public void add(int item) {
+        this.map.put(item, ARBITRARY_INT);
+    }
+
+    /**
+     * Removes the given int from the set.
+     *
+     * @throws NoSuchElementException  if the set does not contain the given int
+     */
+    public void remove(int item) {
+        if (!this.map.containsKey(item)) {
+            throw new NoSuchElementException();
+        }
+        this.map.remove(item);
+    }
+
+    public boolean contains(int item) {
+        return this.map.containsKey(item);
+    }
+
+    public int size() {
+        return this.map.size();
+    }
+
+    public boolean isEmpty() {
+        return this.map.isEmpty();
+    }
+}
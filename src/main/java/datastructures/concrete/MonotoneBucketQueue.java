@@ -0,0 +1,192 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IKeyedIntQueue;
+import misc.exceptions.EmptyContainerException;
+
+/**
+ * A monotone bucket queue (Dial's algorithm) of non-negative int values keyed
+ * by whole-number keys.
+ *
+ * The queue only works for searches like Dijkstra's, whose keys never go down
+ * over time and are never more then some fixed 'span' above the smallest key
+ * still queued: with integer edge weights of at most w, every key Dijkstra
+ * queues lies within [d, d + w], where d is the key it just removed. Under
+ * those conditions there is one bucket per possible key in that window, kept
+ * in a circular array, and insert, decreaseKey and removeMin all take O(1)
+ * amortized time: removeMin just walks forward to the next non-empty bucket.
+ *
+ * Each bucket is a doubly-linked list threaded through two arrays indexed by
+ * value, so a value can be unlinked from its bucket in O(1) when its key is
+ * lowered. Use canHold to check whether a key fits before inserting it.
+ */
+public class MonotoneBucketQueue implements IKeyedIntQueue {
+    // Invariants:
+    //  - every queued key lies within [currentKey, currentKey + span]
+    //  - currentKey is the floor of that window: the last key removed, or
+    //    whichever key moved it when inserted into an empty queue
+    //  - there are more buckets then keys in that range, so each bucket
+    //    holds the values of a single key
+    private int[] heads;
+    private int[] next;
+    private int[] prev;
+    private long[] keys;
+    private boolean[] queued;
+    private int mask;
+    private long span;
+    private long currentKey;
+    private int count;
+
+    private static final int NONE = -1;
+    // Keys beyond this can't all be represented exactly as doubles.
+    private static final double MAX_KEY = 1L << 52;
+
+    /**
+     * Creates an empty queue for keys that are never more then 'span' above the
+     * smallest queued key, able to hold the values 0 .. capacity - 1 without
+     * resizing.
+     *
+     * @throws IllegalArgumentException  if span or capacity is negative, or span
+     *                                   is too large to allocate a bucket per key
+     */
+    public MonotoneBucketQueue(int span, int capacity) {
+        if (span < 0 || span >= (1 << 30) || capacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        int numBuckets = 1;
+        while (numBuckets <= span) {
+            numBuckets *= 2;
+        }
+        this.heads = new int[numBuckets];
+        for (int i = 0; i < numBuckets; i++) {
+            this.heads[i] = NONE;
+        }
+        this.mask = numBuckets - 1;
+        this.span = span;
+
+        capacity = Math.max(capacity, 1);
+        this.next = new int[capacity];
+        this.prev = new int[capacity];
+        this.keys = new long[capacity];
+        this.queued = new boolean[capacity];
+        this.currentKey = 0;
+        this.count = 0;
+    }
+
+    /**
+     * Returns 'true' if the key is a whole number, and either the queue is empty
+     * or the key lies within [floor, floor + span], where the floor is the key
+     * most recently removed (or, before any removal, the first key inserted).
+     */
+    @Override
+    public boolean canHold(double key) {
+        if (key != Math.rint(key) || Math.abs(key) > MAX_KEY) {
+            return false;
+        }
+        return this.count == 0 || (key >= this.currentKey && key - this.currentKey <= this.span);
+    }
+
+    @Override
+    public void insert(int value, double key) {
+        if (value < 0 || !this.canHold(key)) {
+            throw new IllegalArgumentException();
+        }
+        if (value >= this.queued.length) {
+            this.resize(Math.max(value + 1, this.queued.length * 2));
+        }
+        if (this.queued[value]) {
+            throw new IllegalArgumentException();
+        }
+        // An empty queue keeps the last removed key as its floor, so the keys a
+        // search queues next (which are never below it) still all fit; the
+        // floor only moves if this key is outside the window.
+        if (this.count == 0 && (key < this.currentKey || key - this.currentKey > this.span)) {
+            this.currentKey = (long) key;
+        }
+        this.queued[value] = true;
+        this.link(value, (long) key);
+        this.count++;
+    }
+
+    @Override
+    public void decreaseKey(int value, double key) {
+        if (!this.contains(value) || key > this.keys[value] || !this.canHold(key)) {
+            throw new IllegalArgumentException();
+        }
+        this.unlink(value);
+        this.link(value, (long) key);
+    }
+
+    @Override
+    public int removeMin() {
+        int value = this.peekMin();
+        this.unlink(value);
+        this.queued[value] = false;
+        this.count--;
+        return value;
+    }
+
+    @Override
+    public int peekMin() {
+        if (this.count == 0) {
+            throw new EmptyContainerException();
+        }
+        // terminates within span + 1 steps, since some key lies in the window
+        while (this.heads[(int) (this.currentKey & this.mask)] == NONE) {
+            this.currentKey++;
+        }
+        return this.heads[(int) (this.currentKey & this.mask)];
+    }
+
+    @Override
+    public double peekMinKey() {
+        return this.keys[this.peekMin()];
+    }
+
+    @Override
+    public boolean contains(int value) {
+        return value >= 0 && value < this.queued.length && this.queued[value];
+    }
+
+    @Override
+    public int size() {
+        return this.count;
+    }
+
+    // Pushes the value onto the front of its key's bucket.
+    private void link(int value, long key) {
+        int bucket = (int) (key & this.mask);
+        this.keys[value] = key;
+        this.prev[value] = NONE;
+        this.next[value] = this.heads[bucket];
+        if (this.heads[bucket] != NONE) {
+            this.prev[this.heads[bucket]] = value;
+        }
+        this.heads[bucket] = value;
+    }
+
+    private void unlink(int value) {
+        if (this.prev[value] == NONE) {
+            this.heads[(int) (this.keys[value] & this.mask)] = this.next[value];
+        } else {
+            this.next[this.prev[value]] = this.next[value];
+        }
+        if (this.next[value] != NONE) {
+            this.prev[this.next[value]] = this.prev[value];
+        }
+    }
+
+    private void resize(int newSize) {
+        int[] newNext = new int[newSize];
+        int[] newPrev = new int[newSize];
+        long[] newKeys = new long[newSize];
+        boolean[] newQueued = new boolean[newSize];
+        System.arraycopy(this.next, 0, newNext, 0, this.next.length);
+        System.arraycopy(this.prev, 0, newPrev, 0, this.prev.length);
+        System.arraycopy(this.keys, 0, newKeys, 0, this.keys.length);
+        System.arraycopy(this.queued, 0, newQueued, 0, this.queued.length);
+        this.next = newNext;
+        this.prev = newPrev;
+        this.keys = newKeys;
+        this.queued = newQueued;
+    }
+}
@@ -5,6 +5,8 @@ package datastructures.concrete.dictionaries;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import datastructures.concrete.KVPair;
 import datastructures.interfaces.IDictionary;
@@ -18,10 +20,13 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
     // it using our private tests.
     private Pair<K, V>[] pairs; //stores associations between keys and values
     private int size; // number of key-value pairs stored
-    private int openCell; //next cell to fill
-    private int indexToReplace; 
+
+    // Invariant: the pairs are packed into pairs[0] .. pairs[size - 1] and every
+    // cell after that is null, so there are never any holes to search for.
     
-    private static final int SIZE_AT_START = 10; //initial dictionary size
+    // Most ArrayDictionaries are hash buckets, which almost always hold fewer
+    // then four pairs, so we start small and let the rare long chain grow.
+    private static final int SIZE_AT_START = 4; //initial dictionary size
     private static final int RESIZE_FACTOR = 2; // dictionary resizing factor
     
     // You're encouraged to add extra fields (and helper methods) though!
@@ -30,8 +35,6 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
     public ArrayDictionary() {
         pairs = makeArrayOfPairs(SIZE_AT_START);
         size = 0;
-        openCell = 0;
-        indexToReplace = 0;
         
     }
 
@@ -57,99 +60,87 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
 
     }
 
-    private void keyCheck(K key) {
-        if (!this.containsKey(key)) {
-            throw new NoSuchKeyException();
+    /**
+     * Returns the index of the pair holding the given key, or -1 if there is none.
+     *
+     * Every other operation is built on this single scan, so each lookup walks
+     * the array at most once. Since the pairs are packed, the scan only looks at
+     * the first 'size' cells and never has to skip over nulls.
+     */
+    private int indexOf(K key) {
+        for (int i = 0; i < this.size; i++) {
+            K other = this.pairs[i].key;
+            if (other == key || (other != null && other.equals(key))) {
+                return i;
+            }
         }
+        return -1;
     }
-    
-    
 
     @Override
     public V get(K key) {
-        this.keyCheck(key);
-        for (Pair<K, V> p : this.pairs) {
-            if (p != null) {
-                if (p.key == key || p.key.equals(key)) {
-                    return p.value;
-                }
-            }
+        int index = this.indexOf(key);
+        if (index == -1) {
+            throw new NoSuchKeyException();
         }
-        return null;
+        return this.pairs[index].value;
     }
 
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        int index = this.indexOf(key);
+        return index == -1 ? defaultValue : this.pairs[index].value;
+    }
 
     @Override
     public void put(K key, V value) {
-        if (this.containsKey(key)) {
-            Pair<K, V> p = pairs[indexToReplace]; 
-            if (p.key == key || p.key.equals(key)) {
-                p.value = value;
-
-            }
-
+        int index = this.indexOf(key);
+        if (index != -1) {
+            this.pairs[index].value = value;
         } else {
-            if (this.openCell < this.pairs.length) {
-                this.pairs[this.openCell] = new Pair<K, V>(key, value);
-                this.openCell = this.findNewOpenCell();
-            } else {
-                this.openCell = this.findNewOpenCell();
-                this.pairs[this.openCell] = new Pair<K, V>(key, value);
+            if (this.size == this.pairs.length) {
+                Pair<K, V>[] newPairs = makeArrayOfPairs(this.pairs.length * RESIZE_FACTOR);
+                for (int i = 0; i < this.size; i++) {
+                    newPairs[i] = this.pairs[i];
+                }
+                this.pairs = newPairs;
             }
+            this.pairs[this.size] = new Pair<K, V>(key, value);
             size++;
         }
     }
-    
 
-    private int findNewOpenCell() {
-        for (int i = 0; i < this.pairs.length; i++) {
-            if (pairs[i] == null) {
-                return i;
-            }
-        }
-        Pair<K, V>[] newPairs = makeArrayOfPairs(this.size * RESIZE_FACTOR);
-        for (int i = 0; i < this.pairs.length; i++) {
-            newPairs[i] = pairs[i];
+    @Override
+    public V remove(K key) {
+        int index = this.indexOf(key);
+        if (index == -1) {
+            throw new NoSuchKeyException();
         }
-        int newOpenCell =  this.pairs.length;
-        this.pairs = newPairs;
-        return newOpenCell;
+        V removed = this.pairs[index].value;
+        // fill the hole with the last pair so the array stays packed
+        size--;
+        this.pairs[index] = this.pairs[this.size];
+        this.pairs[this.size] = null;
+        return removed;
     }
 
-    
+    @Override
+    public boolean containsKey(K key) {
+        return this.indexOf(key) != -1;
+    }
 
     @Override
-    public V remove(K key) {
-        this.keyCheck(key);
-        for (int i = 0; i < this.pairs.length; i++) {
-            if (this.pairs[i] != null) {
-                if (pairs[i].key == key || pairs[i].key.equals(key)) {
-                    V removed = pairs[i].value;
-                    pairs[i] = null;
-                    size--;
-                    this.openCell = this.findNewOpenCell();
-                    return removed;
-                }
-            }
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < this.size; i++) {
+            action.accept(this.pairs[i].key, this.pairs[i].value);
         }
-        
-        return null;
     }
 
     @Override
-    public boolean containsKey(K key) {
-        int replaceIndex = 0;
-        for (Pair<K, V> p: this.pairs) {
-            if (p != null) {
-                if (p.key == key || (p.key != null && p.key.equals(key))) {
-                    indexToReplace = replaceIndex;
-
-                    return true;
-                }
-            }
-            replaceIndex++;
+    public void forEachKey(Consumer<? super K> action) {
+        for (int i = 0; i < this.size; i++) {
+            action.accept(this.pairs[i].key);
         }
-        return false;
     }
 
     @Override
@@ -181,45 +172,24 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
         
         private  Pair<K, V>[] pairs;
         private int index;
-        private KVPair<K, V> currentPair;
         
         public ArrayDictionaryIterator(Pair<K, V>[] pairs) {
-            // You do not need to make any changes to this constructor.
             this.pairs = pairs;
             this.index = 0;
-            this.currentPair = this.findFirstKVPair();
         }
         
+        // the pairs are packed, so the first null marks the end
         public boolean hasNext(){
-            return this.index < this.pairs.length && this.currentPair != null;
+            return this.index < this.pairs.length && this.pairs[this.index] != null;
         }
         
         public KVPair<K, V> next() {
             if (!this.hasNext()) {
                 throw new NoSuchElementException(); 
             }
-            if (this.currentPair != null){
-                KVPair<K, V> oldPair = this.currentPair;
-                this.index++;
-                this.currentPair = this.findFirstKVPair();
-                return oldPair;
-            } else {
-                this.index++;
-            }
-            
-            return null;
-        }
-        
-        // finds the first KVPair that exists starting from the inputed index
-        private KVPair<K, V> findFirstKVPair() {
-            for (int i = this.index; i < this.pairs.length; i++) {
-                if (this.pairs[i] != null) {
-                    this.index = i;
-                    return new KVPair<K, V>(this.pairs[i].key, this.pairs[i].value);
-                }
-            }
-            return null;
+            Pair<K, V> pair = this.pairs[this.index];
+            this.index++;
+            return new KVPair<K, V>(pair.key, pair.value);
         }
     }
 }
-
@@ -5,6 +5,8 @@ import datastructures.interfaces.IDictionary;
 import misc.exceptions.NoSuchKeyException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * See the spec and IDictionary for more details on what each method should do
@@ -16,30 +18,83 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
 
     // You're encouraged to add extra fields (and helper methods) though!
     // More fields
-    private int hashFactor;
     private int numElements;
     private double loadFactor;
     private static final double LOAD_FACTOR_THRESHOLD = 3;
-    private static final int STARTING_SIZE = 10;
+    // must be a power of two: chains.length always is, so we can index with a mask
+    private static final int STARTING_SIZE = 16;
+
+    // Incremental resizing: while a resize is in progress, 'oldChains' holds the
+    // previous table and every write moves a few of its buckets into 'chains'.
+    // A migrated (or never used) old bucket is null, so each key lives in exactly
+    // one place: its old bucket if that is still non-null, otherwise 'chains'.
+    private final boolean incrementalResize;
+    private IDictionary<K, V>[] oldChains;
+    private int migrateIndex;
+    private static final int MIGRATION_STEP = 4;
     
     
     public ChainedHashDictionary() {
-        chains = makeArrayOfChains(STARTING_SIZE);
-        hashFactor = chains.length;
+        this(0);
+    }
+
+    /**
+     * Creates a dictionary with enough chains to hold 'expectedSize' pairs without
+     * ever resizing, so callers that know roughly how much they'll add can skip
+     * all of the intermediate rehashes.
+     *
+     * @throws IllegalArgumentException  if expectedSize is negative
+     */
+    public ChainedHashDictionary(int expectedSize) {
+        this(expectedSize, false);
+    }
+
+    /**
+     * Creates a presized dictionary, as above, that optionally resizes incrementally.
+     *
+     * Normally, growing the table rehashes every pair in a single call, which can
+     * stall a caller for a long time once the dictionary holds millions of pairs.
+     * In incremental mode the old and new tables are both kept live instead, and
+     * each put or remove migrates a few old buckets, so no single call does more
+     * then a constant amount of rehashing. Lookups and iteration check both tables
+     * while a migration is in progress.
+     *
+     * @throws IllegalArgumentException  if expectedSize is negative
+     */
+    public ChainedHashDictionary(int expectedSize, boolean incrementalResize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException();
+        }
+        int capacity = STARTING_SIZE;
+        while (capacity * LOAD_FACTOR_THRESHOLD <= expectedSize) {
+            capacity *= 2;
+        }
+        chains = makeArrayOfChains(capacity);
         numElements = 0;
         loadFactor = 0;
+        this.incrementalResize = incrementalResize;
+        oldChains = null;
+        migrateIndex = 0;
     }
     
     private void reLoadFactor() {
         this.loadFactor = (1.0 * this.numElements) / (1.0 * this.chains.length);
     }
     
-    private int hashKey(K key) {
-        if (key == null) {
-            return 0;
-        } else {
-            return Math.abs(key.hashCode()) % this.hashFactor;
+    /**
+     * Returns the table whose bucket holds (or would hold) keys with the given hash.
+     */
+    private IDictionary<K, V>[] tableFor(int hash) {
+        if (this.oldChains != null && this.oldChains[hash & (this.oldChains.length - 1)] != null) {
+            return this.oldChains;
         }
+        return this.chains;
+    }
+
+    private IDictionary<K, V> chainFor(K key) {
+        int hash = Hashing.hash(key);
+        IDictionary<K, V>[] table = this.tableFor(hash);
+        return table[hash & (table.length - 1)];
     }
 
     /**
@@ -56,56 +111,77 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
         return (IDictionary<K, V>[]) new IDictionary[size];
     }
 
+    // Each operation below hashes the key once and hands it to exactly one
+    // bucket, which scans itself once; nothing checks containsKey first.
+
     @Override
     public V get(K key) {
-        this.keyCheck(key);
-        int hashKey = this.hashKey(key);
-        return this.chains[hashKey].get(key);
+        IDictionary<K, V> chain = this.chainFor(key);
+        if (chain == null) {
+            throw new NoSuchKeyException();
+        }
+        return chain.get(key);
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        IDictionary<K, V> chain = this.chainFor(key);
+        return chain == null ? defaultValue : chain.getOrDefault(key, defaultValue);
     }
 
     @Override
     public void put(K key, V value) {
-        if (this.loadFactor >= LOAD_FACTOR_THRESHOLD) {
-            this.reSizeReHash();
+        int hash = Hashing.hash(key);
+        IDictionary<K, V>[] table = this.tableFor(hash);
+        int index = hash & (table.length - 1);
+        if (table[index] == null) {
+            table[index] = new ArrayDictionary<K, V>();
         }
-        
-        int hashKey = this.hashKey(key);
-        
-        if (this.containsKey(key)) {
-            // we have el Key
-            this.chains[hashKey].put(key, value);
-        } else {
-            // we don't have el Key
-
-            if (this.chains[hashKey] == null) {
-                this.chains[hashKey] = new ArrayDictionary<K, V>();
-            }
-            this.chains[hashKey].put(key, value);
-            
+
+        IDictionary<K, V> chain = table[index];
+        int oldChainSize = chain.size();
+        chain.put(key, value);
+
+        this.migrateSome();
+        if (chain.size() != oldChainSize) {
+            // we didn't have el Key
             this.numElements++;
             this.reLoadFactor();
+            if (this.loadFactor >= LOAD_FACTOR_THRESHOLD) {
+                this.reSizeReHash();
+            }
         }
-        
-        if (this.loadFactor >= LOAD_FACTOR_THRESHOLD) {
-            this.reSizeReHash();
+    }
+
+    private static <K, V> void addToChains(IDictionary<K, V>[] table, K key, V value) {
+        int index = Hashing.hash(key) & (table.length - 1);
+        if (table[index] == null) {
+            table[index] = new ArrayDictionary<K, V>();
         }
+        table[index].put(key, value);
     }
     
     private void reSizeReHash() {
+        if (this.incrementalResize) {
+            // With MIGRATION_STEP buckets moved per write, a migration always
+            // finishes long before the bigger table fills up again, but a run of
+            // removes followed by puts could still get here early.
+            while (this.oldChains != null) {
+                this.migrateSome();
+            }
+            this.oldChains = this.chains;
+            this.migrateIndex = 0;
+            this.chains = makeArrayOfChains(this.oldChains.length * 2);
+            this.reLoadFactor();
+            return;
+        }
 
         IDictionary<K, V>[] newChains = makeArrayOfChains(chains.length * 2);
-        this.hashFactor = newChains.length;
 
         for (int i = 0; i < this.chains.length; i++) {
             if (this.chains[i] != null) {
                 for (KVPair<K, V> pair: this.chains[i]) {
-                    int hashKey = this.hashKey(pair.getKey());
-                    
-                    if (newChains[hashKey] == null) {
-                        newChains[hashKey] = new ArrayDictionary<K, V>();
-                    }
-                    
-                    newChains[hashKey].put(pair.getKey(), pair.getValue());
+                    addToChains(newChains, pair.getKey(), pair.getValue());
                 }
             }
         }
@@ -113,25 +189,78 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
         this.reLoadFactor();
     }
 
+    /**
+     * Moves up to MIGRATION_STEP buckets from the old table into the new one,
+     * if an incremental resize is in progress.
+     */
+    private void migrateSome() {
+        if (this.oldChains == null) {
+            return;
+        }
+        int stop = Math.min(this.migrateIndex + MIGRATION_STEP, this.oldChains.length);
+        for (; this.migrateIndex < stop; this.migrateIndex++) {
+            IDictionary<K, V> chain = this.oldChains[this.migrateIndex];
+            if (chain != null) {
+                for (KVPair<K, V> pair : chain) {
+                    addToChains(this.chains, pair.getKey(), pair.getValue());
+                }
+                this.oldChains[this.migrateIndex] = null;
+            }
+        }
+        if (this.migrateIndex == this.oldChains.length) {
+            this.oldChains = null;
+        }
+    }
+
     @Override
     public V remove(K key) {
-        this.keyCheck(key);
-        int hashKey = this.hashKey(key);
-        this.numElements--;
-        return this.chains[hashKey].remove(key);
-    }
-    
-    private void keyCheck(K key) {
-        if (!this.containsKey(key)) {
+        IDictionary<K, V> chain = this.chainFor(key);
+        if (chain == null) {
             throw new NoSuchKeyException();
         }
+        V removed = chain.remove(key);
+        this.numElements--;
+        this.reLoadFactor();
+        this.migrateSome();
+        return removed;
     }
 
     @Override
     public boolean containsKey(K key) {
-        int hashKey = this.hashKey(key);
-        
-        return this.chains[hashKey] != null && this.chains[hashKey].containsKey(key);
+        IDictionary<K, V> chain = this.chainFor(key);
+        return chain != null && chain.containsKey(key);
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (this.oldChains != null) {
+            for (IDictionary<K, V> chain : this.oldChains) {
+                if (chain != null) {
+                    chain.forEach(action);
+                }
+            }
+        }
+        for (IDictionary<K, V> chain : this.chains) {
+            if (chain != null) {
+                chain.forEach(action);
+            }
+        }
+    }
+
+    @Override
+    public void forEachKey(Consumer<? super K> action) {
+        if (this.oldChains != null) {
+            for (IDictionary<K, V> chain : this.oldChains) {
+                if (chain != null) {
+                    chain.forEachKey(action);
+                }
+            }
+        }
+        for (IDictionary<K, V> chain : this.chains) {
+            if (chain != null) {
+                chain.forEachKey(action);
+            }
+        }
     }
 
     @Override
@@ -142,7 +271,7 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
     @Override
     public Iterator<KVPair<K, V>> iterator() {
         // Note: you do not need to change this method
-        return new ChainedIterator<>(this.chains);
+        return new ChainedIterator<>(this.oldChains, this.chains);
     }
 
     /**
@@ -189,27 +318,30 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
      */
     private static class ChainedIterator<K, V> implements Iterator<KVPair<K, V>> {
         private IDictionary<K, V>[] chains;
+        // non-null only if a resize was in progress: we walk these first
+        private IDictionary<K, V>[] oldChains;
         // other fieldy-bois 1 and 2...
         private int index;
         private Iterator<KVPair<K, V>> currentIterator;
         
 
-        public ChainedIterator(IDictionary<K, V>[] chains) {
+        public ChainedIterator(IDictionary<K, V>[] oldChains, IDictionary<K, V>[] chains) {
+            this.oldChains = oldChains;
             this.chains = chains;
             // instantiate other fieldy-bois
             this.index = this.findFirstHash(0);
-            if (this.index > -1 && this.index < this.chains.length) {
-                this.currentIterator = this.chains[this.index].iterator();
+            if (this.index > -1 && this.index < this.numChains()) {
+                this.currentIterator = this.chainAt(this.index).iterator();
             }
         }
 
         @Override
         public boolean hasNext() {
             // make sure of:
-            // 1. still within chains.length
+            // 1. still within numChains()
             // 2. make sure there is a value past the
             //   current one <not necessarily next to>
-            return (this.index < this.chains.length && this.index >= 0) && 
+            return (this.index < this.numChains() && this.index >= 0) && 
                     (this.currentIterator.hasNext() || this.findFirstHash(this.index + 1) != -1);
         }
 
@@ -231,7 +363,7 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
                 // we move to traversing the next valid one, assuming it exists.
                 // This can be assumed because of the above check, the method
                 // would return null if no such iterator existed
-                this.currentIterator = this.chains[this.index].iterator();
+                this.currentIterator = this.chainAt(this.index).iterator();
             }
             // At this point, either the initial iterator (which has a next) would increment,
             // or the currentIterator now refers to a newly-initialized iterator that hasn't
@@ -241,12 +373,27 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
         }
         
         private int findFirstHash(int start) {
-            for (int i = start; i < this.chains.length; i++) {
-                if (this.chains[i] != null && this.chains[i].iterator().hasNext()) {
+            for (int i = start; i < this.numChains(); i++) {
+                if (this.chainAt(i) != null && !this.chainAt(i).isEmpty()) {
                     return i;
                 }
             }
             return -1;
         }
+
+        private int numChains() {
+            return this.oldChains == null ? this.chains.length : this.oldChains.length + this.chains.length;
+        }
+
+        // Treats the old and new tables as if they were one long array of chains.
+        private IDictionary<K, V> chainAt(int i) {
+            if (this.oldChains == null) {
+                return this.chains[i];
+            } else if (i < this.oldChains.length) {
+                return this.oldChains[i];
+            } else {
+                return this.chains[i - this.oldChains.length];
+            }
+        }
     }
 }
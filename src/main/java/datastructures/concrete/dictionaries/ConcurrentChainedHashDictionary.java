@@ -0,0 +1,208 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.KVPair;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A thread-safe hash dictionary that uses lock striping.
+ *
+ * Keys are split across a fixed number of stripes by their hash code. Each stripe
+ * is an ordinary ChainedHashDictionary guarded by its own read/write lock, so
+ * threads working on different stripes never wait on each other, and any number
+ * of readers can share a stripe. Stripes resize incrementally, which keeps the
+ * time a writer holds a lock short even while the dictionary is growing.
+ *
+ * Individual operations are atomic. size() and iterator() are only weakly
+ * consistent: they look at one stripe at a time, so pairs added or removed
+ * concurrently may or may not be reflected. Iterators never throw because of
+ * concurrent modification.
+ *
+ * See IDictionary for more details on what each method should do.
+ */
+public class ConcurrentChainedHashDictionary<K, V> implements IDictionary<K, V> {
+    private IDictionary<K, V>[] stripes;
+    private ReadWriteLock[] locks;
+
+    // must be a power of two
+    private static final int NUM_STRIPES = 16;
+    private static final int STRIPE_SHIFT = 32 - Integer.numberOfTrailingZeros(NUM_STRIPES);
+
+    public ConcurrentChainedHashDictionary() {
+        this(0);
+    }
+
+    /**
+     * Creates a dictionary presized to hold 'expectedSize' pairs without resizing.
+     *
+     * @throws IllegalArgumentException  if expectedSize is negative
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentChainedHashDictionary(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.stripes = (IDictionary<K, V>[]) new IDictionary[NUM_STRIPES];
+        this.locks = new ReadWriteLock[NUM_STRIPES];
+        for (int i = 0; i < NUM_STRIPES; i++) {
+            this.stripes[i] = new ChainedHashDictionary<>(expectedSize / NUM_STRIPES, true);
+            this.locks[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    // Picks a stripe using the high bits of the same spread hash the stripe's
+    // own table indexes with its low bits, so the two choices stay independent.
+    // Null keys hash to 0 and so always land in stripe 0.
+    private static int stripeFor(Object key) {
+        return Hashing.hash(key) >>> STRIPE_SHIFT;
+    }
+
+    @Override
+    public V get(K key) {
+        int stripe = stripeFor(key);
+        this.locks[stripe].readLock().lock();
+        try {
+            return this.stripes[stripe].get(key);
+        } finally {
+            this.locks[stripe].readLock().unlock();
+        }
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        int stripe = stripeFor(key);
+        this.locks[stripe].readLock().lock();
+        try {
+            return this.stripes[stripe].getOrDefault(key, defaultValue);
+        } finally {
+            this.locks[stripe].readLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(K key, V value) {
+        int stripe = stripeFor(key);
+        this.locks[stripe].writeLock().lock();
+        try {
+            this.stripes[stripe].put(key, value);
+        } finally {
+            this.locks[stripe].writeLock().unlock();
+        }
+    }
+
+    /**
+     * Atomically adds the key-value pair if the key is not already in the dictionary.
+     *
+     * Returns 'true' if the pair was added and 'false' if the key was already
+     * present (in which case its value is left alone).
+     */
+    public boolean putIfAbsent(K key, V value) {
+        int stripe = stripeFor(key);
+        this.locks[stripe].writeLock().lock();
+        try {
+            IDictionary<K, V> dict = this.stripes[stripe];
+            if (dict.containsKey(key)) {
+                return false;
+            }
+            dict.put(key, value);
+            return true;
+        } finally {
+            this.locks[stripe].writeLock().unlock();
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        int stripe = stripeFor(key);
+        this.locks[stripe].writeLock().lock();
+        try {
+            return this.stripes[stripe].remove(key);
+        } finally {
+            this.locks[stripe].writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        int stripe = stripeFor(key);
+        this.locks[stripe].readLock().lock();
+        try {
+            return this.stripes[stripe].containsKey(key);
+        } finally {
+            this.locks[stripe].readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < NUM_STRIPES; i++) {
+            this.locks[i].readLock().lock();
+            try {
+                size += this.stripes[i].size();
+            } finally {
+                this.locks[i].readLock().unlock();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public Iterator<KVPair<K, V>> iterator() {
+        return new StripedIterator<>(this.stripes, this.locks);
+    }
+
+    /**
+     * Walks the stripes in order, copying each one under its read lock right
+     * before handing out its pairs. Only one stripe is ever copied at a time,
+     * and no lock is held between calls to next().
+     */
+    private static class StripedIterator<K, V> implements Iterator<KVPair<K, V>> {
+        private IDictionary<K, V>[] stripes;
+        private ReadWriteLock[] locks;
+        private int nextStripe;
+        private Iterator<KVPair<K, V>> current;
+
+        public StripedIterator(IDictionary<K, V>[] stripes, ReadWriteLock[] locks) {
+            this.stripes = stripes;
+            this.locks = locks;
+            this.nextStripe = 0;
+            this.current = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while ((this.current == null || !this.current.hasNext()) && this.nextStripe < this.stripes.length) {
+                this.current = this.snapshot(this.nextStripe);
+                this.nextStripe++;
+            }
+            return this.current != null && this.current.hasNext();
+        }
+
+        @Override
+        public KVPair<K, V> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return this.current.next();
+        }
+
+        private Iterator<KVPair<K, V>> snapshot(int stripe) {
+            IList<KVPair<K, V>> pairs = new DoubleLinkedList<>();
+            this.locks[stripe].readLock().lock();
+            try {
+                for (KVPair<K, V> pair : this.stripes[stripe]) {
+                    pairs.add(pair);
+                }
+            } finally {
+                this.locks[stripe].readLock().unlock();
+            }
+            return pairs.iterator();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.interfaces.IDictionary;
+
+/**
+ * Lets client code pick which hash dictionary implementation backs its
+ * dictionaries and sets without hard-coding a concrete class.
+ */
+public enum DictionaryFactory {
+    /**
+     * Separate chaining into ArrayDictionary buckets (see ChainedHashDictionary).
+     */
+    CHAINED {
+        @Override
+        public <K, V> IDictionary<K, V> create() {
+            return new ChainedHashDictionary<>();
+        }
+
+        @Override
+        public <K, V> IDictionary<K, V> create(int expectedSize) {
+            return new ChainedHashDictionary<>(expectedSize);
+        }
+    },
+
+    /**
+     * Separate chaining that spreads each resize across later writes instead of
+     * rehashing everything at once (see ChainedHashDictionary(int, boolean)).
+     */
+    INCREMENTAL_CHAINED {
+        @Override
+        public <K, V> IDictionary<K, V> create() {
+            return new ChainedHashDictionary<>(0, true);
+        }
+
+        @Override
+        public <K, V> IDictionary<K, V> create(int expectedSize) {
+            return new ChainedHashDictionary<>(expectedSize, true);
+        }
+    },
+
+    /**
+     * Linear probing over flat arrays (see OpenAddressingDictionary).
+     */
+    OPEN_ADDRESSING {
+        @Override
+        public <K, V> IDictionary<K, V> create() {
+            return new OpenAddressingDictionary<>();
+        }
+
+        @Override
+        public <K, V> IDictionary<K, V> create(int expectedSize) {
+            return new OpenAddressingDictionary<>(expectedSize);
+        }
+    };
+
+    /**
+     * Returns a new, empty dictionary of this kind.
+     */
+    public abstract <K, V> IDictionary<K, V> create();
+
+    /**
+     * Returns a new, empty dictionary of this kind that is already large enough
+     * to hold 'expectedSize' pairs without resizing.
+     *
+     * @throws IllegalArgumentException  if expectedSize is negative
+     */
+    public abstract <K, V> IDictionary<K, V> create(int expectedSize);
+}
@@ -0,0 +1,37 @@
+package datastructures.concrete.dictionaries;
+
+/**
+ * The hash mixing shared by the hash-based dictionaries and sets.
+ *
+ * Tables index with the low bits of a hash (or, for striping, the high bits),
+ * so every bit of a key's hash code needs to influence all of them. Keys like
+ * Room and Point have hash codes that differ mostly in a few bits, and without
+ * mixing they cluster into a handful of buckets or long probe runs.
+ */
+public final class Hashing {
+    private Hashing() {
+        // only static helpers
+    }
+
+    /**
+     * Mixes every bit of the hash code into every bit of the result. This is
+     * MurmurHash3's 32-bit finalizer: a bijection, so distinct hash codes stay
+     * distinct, and spread(0) == 0.
+     */
+    public static int spread(int hash) {
+        int h = hash;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Returns the spread hash code of the given key, treating null as 0.
+     */
+    public static int hash(Object key) {
+        return key == null ? 0 : spread(key.hashCode());
+    }
+}
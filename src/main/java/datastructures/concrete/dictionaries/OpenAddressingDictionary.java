@@ -0,0 +1,256 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.concrete.KVPair;
+import datastructures.interfaces.IDictionary;
+import misc.exceptions.NoSuchKeyException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * A hash dictionary that uses open addressing with linear probing instead of
+ * chaining into separate bucket dictionaries.
+ *
+ * Keys and values live in two flat arrays, and the (mixed) hash code of every key
+ * is cached in a parallel int array. A lookup therefore walks a contiguous run of
+ * slots and only calls equals() on keys whose cached hash already matches, so
+ * get, put, containsKey and remove each find their slot in a single probe
+ * sequence. Removal uses backward-shift deletion, so no tombstones accumulate.
+ *
+ * See IDictionary for more details on what each method should do.
+ */
+public class OpenAddressingDictionary<K, V> implements IDictionary<K, V> {
+    // Invariants:
+    //  - the table length is always a power of two
+    //  - a slot is empty iff hashes[slot] == EMPTY; hash() never returns EMPTY
+    //  - every key sits in the probe run that starts at its home slot, with
+    //    no empty slot between its home slot and where it actually is
+    private Object[] keys;
+    private Object[] values;
+    private int[] hashes;
+    private int size;
+
+    private static final int EMPTY = 0;
+    private static final int STARTING_SIZE = 16;
+
+    public OpenAddressingDictionary() {
+        this(STARTING_SIZE / 2);
+    }
+
+    /**
+     * Creates a dictionary whose table can hold 'expectedSize' pairs without resizing.
+     *
+     * @throws IllegalArgumentException  if expectedSize is negative
+     */
+    public OpenAddressingDictionary(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException();
+        }
+        int capacity = STARTING_SIZE;
+        // keep the load factor at or below 1/2
+        while (capacity < 2 * expectedSize) {
+            capacity *= 2;
+        }
+        this.keys = new Object[capacity];
+        this.values = new Object[capacity];
+        this.hashes = new int[capacity];
+        this.size = 0;
+    }
+
+    // Mixes the key's hash code (see Hashing) so that keys with clustered or
+    // patterned hash codes, like grid coordinates, still spread out across the
+    // low bits we index with and don't build up long probe runs.
+    private static int hash(Object key) {
+        int h = Hashing.hash(key);
+        return h == EMPTY ? 1 : h;
+    }
+
+    /**
+     * Returns the slot holding the given key, or -1 if the key is not present.
+     */
+    private int findSlot(Object key, int hash) {
+        int mask = this.hashes.length - 1;
+        int slot = hash & mask;
+        while (this.hashes[slot] != EMPTY) {
+            if (this.hashes[slot] == hash && keyEquals(this.keys[slot], key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static boolean keyEquals(Object stored, Object key) {
+        return stored == key || (stored != null && stored.equals(key));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        int slot = this.findSlot(key, hash(key));
+        if (slot == -1) {
+            throw new NoSuchKeyException();
+        }
+        return (V) this.values[slot];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(K key, V defaultValue) {
+        int slot = this.findSlot(key, hash(key));
+        return slot == -1 ? defaultValue : (V) this.values[slot];
+    }
+
+    @Override
+    public void put(K key, V value) {
+        int hash = hash(key);
+        int mask = this.hashes.length - 1;
+        int slot = hash & mask;
+        while (this.hashes[slot] != EMPTY) {
+            if (this.hashes[slot] == hash && keyEquals(this.keys[slot], key)) {
+                this.values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        this.hashes[slot] = hash;
+        this.keys[slot] = key;
+        this.values[slot] = value;
+        this.size++;
+
+        if (2 * this.size > this.hashes.length) {
+            this.resize(this.hashes.length * 2);
+        }
+    }
+
+    private void resize(int capacity) {
+        Object[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        int[] oldHashes = this.hashes;
+
+        this.keys = new Object[capacity];
+        this.values = new Object[capacity];
+        this.hashes = new int[capacity];
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldHashes[i] != EMPTY) {
+                int slot = oldHashes[i] & mask;
+                while (this.hashes[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                this.hashes[slot] = oldHashes[i];
+                this.keys[slot] = oldKeys[i];
+                this.values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(K key) {
+        int slot = this.findSlot(key, hash(key));
+        if (slot == -1) {
+            throw new NoSuchKeyException();
+        }
+        V value = (V) this.values[slot];
+
+        // Backward-shift deletion: walk the rest of the probe run and pull back
+        // any entry that would no longer be reachable once 'slot' is emptied.
+        int mask = this.hashes.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (this.hashes[next] != EMPTY) {
+            int home = this.hashes[next] & mask;
+            // the entry at 'next' may move into the hole only if its home slot
+            // is not cyclically within (hole, next]
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                this.hashes[hole] = this.hashes[next];
+                this.keys[hole] = this.keys[next];
+                this.values[hole] = this.values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        this.hashes[hole] = EMPTY;
+        this.keys[hole] = null;
+        this.values[hole] = null;
+        this.size--;
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return this.findSlot(key, hash(key)) != -1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < this.hashes.length; i++) {
+            if (this.hashes[i] != EMPTY) {
+                action.accept((K) this.keys[i], (V) this.values[i]);
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachKey(Consumer<? super K> action) {
+        for (int i = 0; i < this.hashes.length; i++) {
+            if (this.hashes[i] != EMPTY) {
+                action.accept((K) this.keys[i]);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Iterator<KVPair<K, V>> iterator() {
+        return new OpenAddressingIterator<>(this.keys, this.values, this.hashes);
+    }
+
+    private static class OpenAddressingIterator<K, V> implements Iterator<KVPair<K, V>> {
+        private Object[] keys;
+        private Object[] values;
+        private int[] hashes;
+        private int index;
+
+        public OpenAddressingIterator(Object[] keys, Object[] values, int[] hashes) {
+            this.keys = keys;
+            this.values = values;
+            this.hashes = hashes;
+            this.index = this.findOccupied(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.index < this.hashes.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public KVPair<K, V> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            KVPair<K, V> pair = new KVPair<>((K) this.keys[this.index], (V) this.values[this.index]);
+            this.index = this.findOccupied(this.index + 1);
+            return pair;
+        }
+
+        private int findOccupied(int start) {
+            int i = start;
+            while (i < this.hashes.length && this.hashes[i] == EMPTY) {
+                i++;
+            }
+            return i;
+        }
+    }
+}
@@ -4,6 +4,8 @@ import datastructures.concrete.KVPair;
 import misc.exceptions.NoSuchKeyException;
 
 import java.util.Iterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * Represents a data structure that contains a bunch of key-value mappings. Each key must be unique.
@@ -67,4 +69,25 @@ public interface IDictionary<K, V> extends Iterable<KVPair<K, V>> {
      * Returns a list of all key-value pairs contained within this dict.
      */
     public Iterator<KVPair<K, V>> iterator();
+
+    /**
+     * Calls the given action once for every key-value pair in this dictionary.
+     *
+     * Unlike the iterator, this doesn't need to build a KVPair for every entry,
+     * so implementations should override it to walk their internal storage
+     * directly. The action must not modify this dictionary.
+     */
+    public default void forEach(BiConsumer<? super K, ? super V> action) {
+        for (KVPair<K, V> pair : this) {
+            action.accept(pair.getKey(), pair.getValue());
+        }
+    }
+
+    /**
+     * Calls the given action once for every key in this dictionary. As with
+     * forEach, the action must not modify this dictionary.
+     */
+    public default void forEachKey(Consumer<? super K> action) {
+        this.forEach((key, value) -> action.accept(key));
+    }
 }
@@ -0,0 +1,42 @@
+package datastructures.interfaces;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Represents a priority queue that also keeps track of where each of its
+ * elements is stored. This lets the client check whether some element is
+ * still waiting in the queue, and lets the client lower an element's priority
+ * without having to insert a second copy of it.
+ *
+ * Elements are identified using their equals and hashCode methods, so the
+ * same element may be present in the queue at most once at any given time.
+ */
+public interface IIndexedPriorityQueue<T extends Comparable<T>> extends IPriorityQueue<T> {
+    /**
+     * Inserts the given item into the queue.
+     *
+     * @throws IllegalArgumentException  if the item is null
+     * @throws IllegalArgumentException  if the item is already contained within the queue
+     */
+    @Override
+    void insert(T item);
+
+    /**
+     * Returns 'true' if the given item is currently contained within the queue,
+     * and 'false' otherwise.
+     */
+    boolean contains(T item);
+
+    /**
+     * Notifies the queue that the given item has been modified in place so that
+     * it now compares as smaller then it used to, and moves it towards the front
+     * of the queue as needed.
+     *
+     * The behavior of this method is undefined if the item was modified so that
+     * it compares as larger then before.
+     *
+     * @throws IllegalArgumentException  if the item is null
+     * @throws NoSuchElementException    if the item is not contained within the queue
+     */
+    void decreaseKey(T item);
+}
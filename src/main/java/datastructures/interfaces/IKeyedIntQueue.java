@@ -0,0 +1,76 @@
+package datastructures.interfaces;
+
+import misc.exceptions.EmptyContainerException;
+
+/**
+ * Represents a priority queue of non-negative int values (typically vertex or
+ * node ids), each ordered by a double key. Every value may be in the queue at
+ * most once at any given time, and the key of a queued value can be lowered
+ * in place.
+ */
+public interface IKeyedIntQueue {
+    /**
+     * Adds the value to the queue with the given key.
+     *
+     * @throws IllegalArgumentException  if the value is negative or already in the queue
+     * @throws IllegalArgumentException  if canHold(key) is false
+     */
+    void insert(int value, double key);
+
+    /**
+     * Lowers the key of a value that is already in the queue.
+     *
+     * @throws IllegalArgumentException  if the value is not in the queue
+     * @throws IllegalArgumentException  if the new key is greater then the current one
+     * @throws IllegalArgumentException  if canHold(key) is false
+     */
+    void decreaseKey(int value, double key);
+
+    /**
+     * Removes and returns the value with the smallest key. Ties may be broken
+     * arbitrarily.
+     *
+     * @throws EmptyContainerException  if the queue is empty
+     */
+    int removeMin();
+
+    /**
+     * Returns, but does not remove, the value removeMin would return.
+     *
+     * @throws EmptyContainerException  if the queue is empty
+     */
+    int peekMin();
+
+    /**
+     * Returns the smallest key in the queue.
+     *
+     * @throws EmptyContainerException  if the queue is empty
+     */
+    double peekMinKey();
+
+    /**
+     * Returns 'true' if the value is currently in the queue, and 'false' otherwise.
+     */
+    boolean contains(int value);
+
+    /**
+     * Returns 'true' if an entry with the given key could be inserted (or a key
+     * lowered to it) right now. Specialized queues may only accept some keys;
+     * general-purpose ones accept every key.
+     */
+    default boolean canHold(double key) {
+        return true;
+    }
+
+    /**
+     * Returns the number of values contained within this queue.
+     */
+    int size();
+
+    /**
+     * Returns 'true' if this queue is empty, and false otherwise.
+     */
+    default boolean isEmpty() {
+        return this.size() == 0;
+    }
+}
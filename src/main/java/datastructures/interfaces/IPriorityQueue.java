@@ -37,6 +37,52 @@ public interface IPriorityQueue<T extends Comparable<T>> {
      */
     void insert(T item);
 
+    /**
+     * Inserts every item in the given list into the queue.
+     *
+     * If some item is null, the queue is left in an unspecified state.
+     *
+     * @throws IllegalArgumentException  if any of the items is null
+     */
+    default void insertAll(IList<T> items) {
+        for (T item : items) {
+            this.insert(item);
+        }
+    }
+
+    /**
+     * Inserts every item in the given array into the queue.
+     *
+     * If some item is null, the queue is left in an unspecified state.
+     *
+     * @throws IllegalArgumentException  if any of the items is null
+     */
+    default void insertAll(T[] items) {
+        for (T item : items) {
+            this.insert(item);
+        }
+    }
+
+    /**
+     * Removes the smallest 'max' elements from the queue (or all of them, if
+     * there are fewer then that), adds them to the end of the output list in
+     * the order removeMin would have returned them, and returns how many were
+     * moved.
+     *
+     * @throws IllegalArgumentException  if max < 0
+     */
+    default int drainTo(IList<T> output, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException();
+        }
+        int moved = 0;
+        while (moved < max && !this.isEmpty()) {
+            output.add(this.removeMin());
+            moved++;
+        }
+        return moved;
+    }
+
     /**
      * Returns the number of elements contained within this queue.
      */
@@ -2,6 +2,7 @@ package datastructures.interfaces;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 /**
  * Represents a data structure that contains a unique collection of items.
@@ -42,4 +43,18 @@ public interface ISet<T> extends Iterable<T> {
      * Returns all items contained within this set.
      */
     public Iterator<T> iterator();
+
+    /**
+     * Calls the given action once for every item in this set.
+     *
+     * Implementations backed by a dictionary should override this to use the
+     * dictionary's forEachKey, which skips the iterator's per-item allocations.
+     * The action must not modify this set.
+     */
+    @Override
+    public default void forEach(Consumer<? super T> action) {
+        for (T item : this) {
+            action.accept(item);
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package mazes.entities;
 
+import datastructures.concrete.dictionaries.DictionaryFactory;
 import datastructures.interfaces.ISet;
+import misc.graphs.Graph;
 
 import java.awt.*;
 
@@ -8,14 +10,34 @@ import java.awt.*;
  * Represents a maze.
  */
 public class Maze {
+    /**
+     * The kind of dictionary the maze generators and carvers build their
+     * room and wall sets on top of, and that graphs made by toGraph use.
+     */
+    public static final DictionaryFactory DICTIONARIES = DictionaryFactory.OPEN_ADDRESSING;
+
     private ISet<Room> rooms;
     private ISet<Wall> walls;
     private ISet<Wall> untouchableWalls;
+    private boolean verified;
 
     public Maze(ISet<Room> rooms, ISet<Wall> walls, ISet<Wall> untouchableWalls) {
+        this(rooms, walls, untouchableWalls, false);
+    }
+
+    /**
+     * Constructs a maze, optionally marking it as verified.
+     *
+     * A creator should only pass 'true' for 'verified' if it guarantees that
+     * every wall in 'walls' separates two rooms contained in 'rooms' and has a
+     * non-negative distance. Verified mazes can skip those checks when they
+     * are converted into a graph.
+     */
+    public Maze(ISet<Room> rooms, ISet<Wall> walls, ISet<Wall> untouchableWalls, boolean verified) {
         this.rooms = rooms;
         this.walls = walls;
         this.untouchableWalls = untouchableWalls;
+        this.verified = verified;
     }
 
     /**
@@ -42,6 +64,66 @@ public class Maze {
         return this.untouchableWalls;
     }
 
+    /**
+     * Returns 'true' if this maze's creator guaranteed that every removable wall
+     * separates two of this maze's rooms, and 'false' otherwise.
+     */
+    public boolean isVerified() {
+        return this.verified;
+    }
+
+    /**
+     * Returns a graph whose vertices are the rooms of this maze and whose edges
+     * are the removable walls of this maze.
+     *
+     * If the maze is verified, the graph is bulk-loaded without re-checking
+     * every wall against the set of rooms. If, in addition, its rooms are
+     * numbered 0 .. n - 1 (as the generators number them), the graph indexes
+     * rooms by those ids instead of hashing them.
+     *
+     * @throws IllegalArgumentException  if the maze is not verified and some wall
+     *                                   does not separate two of its rooms
+     */
+    public Graph<Room, Wall> toGraph() {
+        if (!this.verified) {
+            return new Graph<>(this.rooms, this.walls, DICTIONARIES);
+        }
+
+        Wall[] wallArray = new Wall[this.walls.size()];
+        int i = 0;
+        for (Wall wall : this.walls) {
+            wallArray[i] = wall;
+            i++;
+        }
+
+        Room[] roomsById = this.roomsById();
+        if (roomsById != null) {
+            return Graph.fromTrustedArrays(roomsById, wallArray, Room::getId, DICTIONARIES);
+        }
+
+        Room[] roomArray = new Room[this.rooms.size()];
+        i = 0;
+        for (Room room : this.rooms) {
+            roomArray[i] = room;
+            i++;
+        }
+        return Graph.fromTrustedArrays(roomArray, wallArray, DICTIONARIES);
+    }
+
+    // Returns the rooms arranged so that each one sits at the index of its id, or
+    // null if the ids aren't exactly 0 .. n - 1.
+    private Room[] roomsById() {
+        Room[] roomsById = new Room[this.rooms.size()];
+        for (Room room : this.rooms) {
+            int id = room.getId();
+            if (id < 0 || id >= roomsById.length || roomsById[id] != null) {
+                return null;
+            }
+            roomsById[id] = room;
+        }
+        return roomsById;
+    }
+
     /**
      * Returns the room containing the given point.
      *
@@ -5,10 +5,20 @@ import java.awt.*;
 public class Room {
     private Point center;
     private Polygon polygon;
+    private int id;
 
     public Room(Point center, Polygon polygon) {
+        this(center, polygon, -1);
+    }
+
+    /**
+     * Creates a room with a dense integer id. A generator that numbers its rooms
+     * 0 .. n - 1 lets graph code index rooms by id instead of hashing them.
+     */
+    public Room(Point center, Polygon polygon, int id) {
         this.center = center;
         this.polygon = polygon;
+        this.id = id;
     }
 
     public boolean contains(Point point) {
@@ -23,6 +33,15 @@ public class Room {
         return this.polygon;
     }
 
+    /**
+     * Returns this room's id, or -1 if its generator didn't assign one.
+     *
+     * The id plays no part in equals or hashCode.
+     */
+    public int getId() {
+        return this.id;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) { return true; }
@@ -0,0 +1,51 @@
+package mazes.entities;
+
+import misc.graphs.Heuristic;
+
+import java.awt.*;
+
+/**
+ * Heuristics for searching between rooms, based on the positions of the
+ * rooms' centers.
+ *
+ * A wall's distance is the distance between the centers of the two rooms it
+ * separates, so straight-line distance never overestimates the length of a
+ * path through the maze.
+ */
+public enum RoomHeuristic implements Heuristic<Room> {
+    /**
+     * Straight-line distance between the two centers. Valid for every maze.
+     */
+    EUCLIDEAN {
+        @Override
+        public double estimate(Room room, Room goal) {
+            return room.getCenter().distance(goal.getCenter());
+        }
+    },
+
+    /**
+     * Sum of the horizontal and vertical distances between the two centers.
+     *
+     * Only valid for mazes whose walls always connect rooms lying in the same row
+     * or column (such as those built by GridGenerator); it may overestimate
+     * distances in any other maze.
+     */
+    MANHATTAN {
+        @Override
+        public double estimate(Room room, Room goal) {
+            Point a = room.getCenter();
+            Point b = goal.getCenter();
+            return Math.abs(a.x - b.x) + Math.abs(a.y - b.y);
+        }
+    },
+
+    /**
+     * Always estimates zero, making the search behave like Dijkstra's algorithm.
+     */
+    NONE {
+        @Override
+        public double estimate(Room room, Room goal) {
+            return 0.0;
+        }
+    }
+}
@@ -31,7 +31,8 @@ public class GridGenerator extends BaseMazeGenerator {
         return new Maze(
                 this.extractRooms(grid),
                 this.extractWalls(grid),
-                new ChainedHashSet<>());
+                new ChainedHashSet<>(Maze.DICTIONARIES),
+                true);
     }
 
     private Room[][] buildRooms(Rectangle boundingBox) {
@@ -56,7 +57,7 @@ public class GridGenerator extends BaseMazeGenerator {
                         new int[]{yMin, yMin, yMax, yMax},
                         4);
 
-                grid[j][i] = new Room(center, polygon);
+                grid[j][i] = new Room(center, polygon, i * this.numColumns + j);
             }
         }
 
@@ -64,7 +65,7 @@ public class GridGenerator extends BaseMazeGenerator {
     }
 
     private ISet<Room> extractRooms(Room[][] grid) {
-        ISet<Room> rooms = new ChainedHashSet<>();
+        ISet<Room> rooms = new ChainedHashSet<>(Maze.DICTIONARIES, this.numRows * this.numColumns);
         for (int x = 0; x < this.numColumns; x++) {
             for (int y = 0; y < this.numRows; y++) {
                 rooms.add(grid[x][y]);
@@ -74,7 +75,7 @@ public class GridGenerator extends BaseMazeGenerator {
     }
 
     private ISet<Wall> extractWalls(Room[][] grid) {
-        ISet<Wall> walls = new ChainedHashSet<>();
+        ISet<Wall> walls = new ChainedHashSet<>(Maze.DICTIONARIES, 2 * this.numRows * this.numColumns);
 
         for (int x = 0; x < this.numColumns; x++) {
             for (int y = 0; y < this.numRows; y++) {
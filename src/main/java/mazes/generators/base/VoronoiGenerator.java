@@ -2,7 +2,6 @@ package mazes.generators.base;
 
 import datastructures.concrete.ChainedHashSet;
 import datastructures.concrete.DoubleLinkedList;
-import datastructures.concrete.dictionaries.ChainedHashDictionary;
 import datastructures.interfaces.IDictionary;
 import datastructures.interfaces.IList;
 import datastructures.interfaces.ISet;
@@ -59,18 +58,23 @@ public class VoronoiGenerator extends BaseMazeGenerator {
         diagram.computeDiagram();
 
         // Convert sites into rooms
-        ISet<Room> rooms = new ChainedHashSet<>();
-        IDictionary<Point, Room> pointsToSite = new ChainedHashDictionary<>();
+        ISet<Room> rooms = new ChainedHashSet<>(Maze.DICTIONARIES, this.numRooms);
+        IDictionary<Point, Room> pointsToSite = Maze.DICTIONARIES.create(this.numRooms);
         for (Site site : sites) {
-            Room room = this.siteToRoom(site);
-            pointsToSite.put(room.getCenter(), room);
-            rooms.add(room);
+            // Two sites can round to the same center; keep only the first so
+            // that room ids stay dense.
+            Room room = this.siteToRoom(site, rooms.size());
+            if (!pointsToSite.containsKey(room.getCenter())) {
+                pointsToSite.put(room.getCenter(), room);
+                rooms.add(room);
+            }
         }
 
-        // Convert sites into walls; build edges
-        ISet<Wall> walls = new ChainedHashSet<>();
-        ISet<Wall> untouchableWalls = new ChainedHashSet<>();
-        IDictionary<LineSegment, Point> edgeToPoints = new ChainedHashDictionary<>();
+        // Convert sites into walls; build edges. A Voronoi diagram is planar,
+        // so it has fewer then three times as many edges as it has rooms.
+        ISet<Wall> walls = new ChainedHashSet<>(Maze.DICTIONARIES, 3 * this.numRooms);
+        ISet<Wall> untouchableWalls = new ChainedHashSet<>(Maze.DICTIONARIES);
+        IDictionary<LineSegment, Point> edgeToPoints = Maze.DICTIONARIES.create(3 * this.numRooms);
         for (Room room : rooms) {
             Point vertex = room.getCenter();
             for (LineSegment seg : this.polygonToLineSegment(room.getPolygon())) {
@@ -88,7 +92,7 @@ public class VoronoiGenerator extends BaseMazeGenerator {
             }
         }
 
-        return new Maze(rooms, walls, untouchableWalls);
+        return new Maze(rooms, walls, untouchableWalls, true);
     }
 
     private PolygonSimple boundingBoxToPolygon(Rectangle boundingBox) {
@@ -100,7 +104,7 @@ public class VoronoiGenerator extends BaseMazeGenerator {
         return boundingPolygon;
     }
 
-    private Room siteToRoom(Site site) {
+    private Room siteToRoom(Site site, int id) {
         PolygonSimple oldPolygon = site.getPolygon();
 
         Point center = new Point(round(site.getX()), round(site.getY()));
@@ -109,7 +113,7 @@ public class VoronoiGenerator extends BaseMazeGenerator {
                 roundArray(oldPolygon.getYPoints(), oldPolygon.length),
                 oldPolygon.length);
 
-        return new Room(center, polygon);
+        return new Room(center, polygon, id);
     }
 
     private OpenList generateCells(Rectangle boundingBox) {
@@ -12,10 +12,23 @@ import java.util.Random;
  * Carves out a maze based on Kruskal's algorithm.
  *
  * See the spec for more details.
+ *
+ * The minimum spanning tree over the randomized walls can optionally be found
+ * using one of Graph's other MST algorithms instead; see Graph.MstStrategy.
  */
 public class KruskalMazeCarver implements MazeCarver {
     
     private static Random r = new Random(0);
+
+    private Graph.MstStrategy strategy;
+
+    public KruskalMazeCarver() {
+        this(Graph.MstStrategy.KRUSKAL);
+    }
+
+    public KruskalMazeCarver(Graph.MstStrategy strategy) {
+        this.strategy = strategy;
+    }
     
     @Override
     public ISet<Wall> returnWallsToRemove(Maze maze) {
@@ -24,7 +37,6 @@ public class KruskalMazeCarver implements MazeCarver {
         // In particular, if you call 'wall.setDistance()' at any point, make sure to
         // call 'wall.resetDistanceToOriginal()' on the same wall before returning.
         
-        ISet<Room> rooms = maze.getRooms();
         ISet<Wall> allWalls = maze.getWalls();
         
 
@@ -34,10 +46,10 @@ public class KruskalMazeCarver implements MazeCarver {
         }
         
         
-        Graph<Room, Wall> g = new Graph<>(rooms, allWalls);
+        Graph<Room, Wall> g = maze.toGraph();
         
         // make MST of wall weights
-        ISet<Wall> mst = g.findMinimumSpanningTree();
+        ISet<Wall> mst = g.findMinimumSpanningTree(this.strategy);
         
         // reset distances
         for (Wall wall: mst) {
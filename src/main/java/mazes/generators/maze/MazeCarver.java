@@ -30,13 +30,19 @@ public interface MazeCarver {
 
         ISet<Wall> toRemove = this.returnWallsToRemove(initialMaze);
 
-        ISet<Wall> newWalls = new ChainedHashSet<>();
-        for (Wall wall : initialMaze.getWalls()) {
+        ISet<Wall> newWalls = new ChainedHashSet<>(
+                Maze.DICTIONARIES,
+                Math.max(0, initialMaze.getWalls().size() - toRemove.size()));
+        initialMaze.getWalls().forEach(wall -> {
             if (!toRemove.contains(wall)) {
                 newWalls.add(wall);
             }
-        }
+        });
 
-        return new Maze(initialMaze.getRooms(), newWalls, initialMaze.getUntouchableWalls());
+        return new Maze(
+                initialMaze.getRooms(),
+                newWalls,
+                initialMaze.getUntouchableWalls(),
+                initialMaze.isVerified());
     }
 }
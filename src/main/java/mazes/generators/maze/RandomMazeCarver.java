@@ -21,7 +21,7 @@ public class RandomMazeCarver implements MazeCarver {
     public ISet<Wall> returnWallsToRemove(Maze maze) {
         Random rand = new Random();
 
-        ISet<Wall> toRemove = new ChainedHashSet<>();
+        ISet<Wall> toRemove = new ChainedHashSet<>(Maze.DICTIONARIES);
         for (Wall wall : maze.getWalls()) {
             if (rand.nextDouble() >= this.probabilityOfKeepingEdge) {
                 toRemove.add(wall);
@@ -129,15 +129,13 @@ public class ImageDrawer implements ImageObserver {
         this.graphics.setStroke(new BasicStroke(4));
 
         this.graphics.draw(this.getBoundingBox());
-        for (Wall wall : maze.getWalls()) {
+        maze.getWalls().forEach(wall -> {
             this.drawLineSegment(wall.getDividingLine());
             if (showEdges) {
                 this.drawPath(wall);
             }
-        }
-        for (Wall wall : maze.getUntouchableWalls()) {
-            this.drawLineSegment(wall.getDividingLine());
-        }
+        });
+        maze.getUntouchableWalls().forEach(wall -> this.drawLineSegment(wall.getDividingLine()));
 
         this.graphics.setColor(originalColor);
         this.graphics.setStroke(originalStroke);
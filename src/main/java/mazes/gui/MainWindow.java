@@ -8,6 +8,7 @@ import mazes.generators.base.VoronoiGenerator;
 import mazes.generators.maze.KruskalMazeCarver;
 import mazes.generators.maze.MazeCarver;
 import mazes.generators.maze.RandomMazeCarver;
+import misc.graphs.Graph;
 
 import javax.swing.*;
 import java.awt.*;
@@ -64,6 +65,9 @@ public class MainWindow extends JFrame {
         baseCarvers.put(
                 "Run (randomized) Kruskal",
                 new KruskalMazeCarver());
+        baseCarvers.put(
+                "Run (randomized) parallel Boruvka",
+                new KruskalMazeCarver(Graph.MstStrategy.BORUVKA));
 
         // This actually launches the window itself and starts the program.
         EventQueue.invokeLater(() -> {
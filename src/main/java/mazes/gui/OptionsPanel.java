@@ -11,7 +11,7 @@ import mazes.entities.Wall;
 import mazes.generators.base.BaseMazeGenerator;
 import mazes.generators.maze.MazeCarver;
 import misc.exceptions.NoPathExistsException;
-import misc.graphs.Graph;
+import misc.graphs.ShortestPathTree;
 
 import javax.swing.*;
 import java.awt.*;
@@ -32,6 +32,10 @@ public class OptionsPanel extends JPanel {
     private Room start;
     private Room end;
 
+    // Shortest paths from 'start' through the current maze. Computed the first
+    // time a path is requested, and thrown away whenever the maze changes.
+    private ShortestPathTree<Room, Wall> pathsFromStart;
+
     public OptionsPanel(ImageDrawer drawer, 
                         IDictionary<String, BaseMazeGenerator> baseGenerators, 
                         IDictionary<String, MazeCarver> baseCarvers) {
@@ -113,6 +117,7 @@ public class OptionsPanel extends JPanel {
 
         this.start = this.currentMaze.getRoom(new Point(bound.x + 5, bound.y + 5));
         this.end = this.currentMaze.getRoom(new Point(bound.x + bound.width - 5, bound.y + bound.height - 5));
+        this.pathsFromStart = null;
 
         this.drawer.drawMaze(this.currentMaze);
         drawer.drawPoint(start.getCenter());
@@ -120,11 +125,8 @@ public class OptionsPanel extends JPanel {
     }
 
     private void drawShortestPath(ActionEvent event) {
-        Graph<Room, Wall> graph = new Graph<>(
-                this.originalMaze.getRooms(),
-                this.subtract(this.originalMaze.getWalls(), this.currentMaze.getWalls()));
         try {
-            IList<Wall> path = graph.findShortestPathBetween(this.start, this.end);
+            IList<Wall> path = this.getPathsFromStart().pathTo(this.end);
             this.drawer.drawPath(path);
         } catch (NoPathExistsException ex) {
             JOptionPane.showMessageDialog(
@@ -133,6 +135,20 @@ public class OptionsPanel extends JPanel {
         }
     }
 
+    private ShortestPathTree<Room, Wall> getPathsFromStart() {
+        if (this.pathsFromStart == null) {
+            // The removed walls are a subset of the original maze's walls, so they're
+            // just as trustworthy as the original maze was.
+            Maze carved = new Maze(
+                    this.originalMaze.getRooms(),
+                    this.subtract(this.originalMaze.getWalls(), this.currentMaze.getWalls()),
+                    this.originalMaze.getUntouchableWalls(),
+                    this.originalMaze.isVerified());
+            this.pathsFromStart = carved.toGraph().findShortestPathTree(this.start);
+        }
+        return this.pathsFromStart;
+    }
+
     private <T> ISet<T> subtract(ISet<T> bigger, ISet<T> smaller) {
         ISet<T> output = new ChainedHashSet<>();
         for (T item : bigger) {
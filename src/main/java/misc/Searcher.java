@@ -31,13 +31,10 @@ public class Searcher {
             if (k == 0) {
                 return list;
             }
-            if (k > input.size()) {
-                for (T item:input) {
-                    heap.insert(item);
-                }
-                for (int i = 0; i < input.size(); i++) {
-                    list.add(heap.removeMin());
-                }
+            if (k >= input.size()) {
+                //  everything makes the cut: heapify it all in one go
+                heap.insertAll(input);
+                heap.drainTo(list, input.size());
                 
                 return list;
             }
@@ -54,9 +51,7 @@ public class Searcher {
               }
             }
             
-            for (int i = 0; i < k; i++) {
-                list.add(heap.removeMin());
-            }
+            heap.drainTo(list, k);
                        
         
             return list;
@@ -0,0 +1,110 @@
+package misc.benchmarks;
+
+import datastructures.concrete.dictionaries.ArrayDictionary;
+import datastructures.concrete.dictionaries.DictionaryFactory;
+import datastructures.interfaces.IDictionary;
+import mazes.entities.Room;
+
+import java.awt.*;
+import java.util.function.Supplier;
+
+/**
+ * Measures the per-operation cost of put, get and missed containsKey calls on
+ * each kind of hash dictionary, keyed by the rooms of a square grid maze.
+ *
+ * Usage: DictionaryBenchmark [rooms]
+ *
+ * The room count defaults to 1M. ArrayDictionary is also measured on its own,
+ * but only at the size of a single hash bucket, since that is the only way the
+ * rest of the code uses it.
+ */
+public class DictionaryBenchmark {
+    private static final int WARMUP_RUNS = 1;
+    private static final int MEASURED_RUNS = 3;
+    private static final int BUCKET_SIZE = 4;
+    private static final int BUCKET_ROUNDS = 250000;
+
+    public static void main(String[] args) {
+        int numRooms = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+
+        Room[] rooms = makeRooms(numRooms, 0);
+        Room[] missing = makeRooms(numRooms, 1);
+
+        System.out.println("dictionary, keys, put ns/op, get ns/op, miss ns/op");
+        for (DictionaryFactory kind : DictionaryFactory.values()) {
+            run(kind.toString(), kind::create, rooms, missing, 1);
+        }
+
+        Room[] bucket = new Room[BUCKET_SIZE];
+        Room[] bucketMissing = new Room[BUCKET_SIZE];
+        System.arraycopy(rooms, 0, bucket, 0, BUCKET_SIZE);
+        System.arraycopy(missing, 0, bucketMissing, 0, BUCKET_SIZE);
+        run("ARRAY", ArrayDictionary::new, bucket, bucketMissing, BUCKET_ROUNDS);
+    }
+
+    // Builds the rooms of a grid with 'count' cells, shifted by 'offset' cells
+    // so that different offsets produce disjoint sets of keys.
+    private static Room[] makeRooms(int count, int offset) {
+        int side = (int) Math.ceil(Math.sqrt(count));
+        Room[] rooms = new Room[count];
+        for (int i = 0; i < count; i++) {
+            int x = 10 * (i % side) + 5;
+            int y = 10 * (i / side + offset * side) + 5;
+            Polygon polygon = new Polygon(
+                    new int[]{x - 5, x + 5, x + 5, x - 5},
+                    new int[]{y - 5, y - 5, y + 5, y + 5},
+                    4);
+            rooms[i] = new Room(new Point(x, y), polygon);
+        }
+        return rooms;
+    }
+
+    private static void run(String name, Supplier<IDictionary<Room, Integer>> factory,
+                            Room[] rooms, Room[] missing, int rounds) {
+        double bestPut = Double.MAX_VALUE;
+        double bestGet = Double.MAX_VALUE;
+        double bestMiss = Double.MAX_VALUE;
+        long checksum = 0;
+        long ops = (long) rooms.length * rounds;
+
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+            long putTime = 0;
+            long getTime = 0;
+            long missTime = 0;
+            for (int round = 0; round < rounds; round++) {
+                IDictionary<Room, Integer> dict = factory.get();
+
+                long start = System.nanoTime();
+                for (int i = 0; i < rooms.length; i++) {
+                    dict.put(rooms[i], i);
+                }
+                long afterPut = System.nanoTime();
+                for (Room room : rooms) {
+                    checksum += dict.get(room);
+                }
+                long afterGet = System.nanoTime();
+                for (Room room : missing) {
+                    if (dict.containsKey(room)) {
+                        checksum++;
+                    }
+                }
+                long afterMiss = System.nanoTime();
+
+                putTime += afterPut - start;
+                getTime += afterGet - afterPut;
+                missTime += afterMiss - afterGet;
+            }
+            if (run >= WARMUP_RUNS) {
+                bestPut = Math.min(bestPut, 1.0 * putTime / ops);
+                bestGet = Math.min(bestGet, 1.0 * getTime / ops);
+                bestMiss = Math.min(bestMiss, 1.0 * missTime / ops);
+            }
+        }
+
+        System.out.printf("%s, %d, %.1f, %.1f, %.1f%n", name, rooms.length, bestPut, bestGet, bestMiss);
+        if (checksum == 42) {
+            // keeps the JIT from discarding the lookups
+            System.out.println();
+        }
+    }
+}
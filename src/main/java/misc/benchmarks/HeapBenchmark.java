@@ -0,0 +1,82 @@
+package misc.benchmarks;
+
+import datastructures.concrete.ArrayHeap;
+
+import java.util.Random;
+
+/**
+ * Measures the per-operation cost of insert and removeMin on ArrayHeaps of
+ * different arities, for heap sizes from 10^4 up to a given maximum.
+ *
+ * Usage: HeapBenchmark [max size]
+ *
+ * The maximum defaults to 10^6; pass 10000000 to include 10^7 (which needs a
+ * heap of around 1 GB). Each run fills the heap with random Integers, boxed
+ * ahead of time, and then drains it completely.
+ */
+public class HeapBenchmark {
+    private static final int WARMUP_RUNS = 1;
+    private static final int MEASURED_RUNS = 3;
+    private static final int[] ARITIES = {2, 4, 8};
+
+    public static void main(String[] args) {
+        int maxSize = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+
+        System.out.println("arity, items, insert ns/op, removeMin ns/op");
+        for (int size = 10000; size <= maxSize; size *= 10) {
+            Integer[] items = makeItems(size);
+            for (int arity : ARITIES) {
+                run(arity, items);
+            }
+        }
+    }
+
+    private static Integer[] makeItems(int count) {
+        Random rand = new Random(count);
+        Integer[] items = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            items[i] = rand.nextInt();
+        }
+        return items;
+    }
+
+    private static void run(int arity, Integer[] items) {
+        // small heaps are timed over several rounds so each run takes a while
+        int rounds = Math.max(1, 1000000 / items.length);
+        double bestInsert = Double.MAX_VALUE;
+        double bestRemove = Double.MAX_VALUE;
+        long checksum = 0;
+        long ops = (long) items.length * rounds;
+
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+            long insertTime = 0;
+            long removeTime = 0;
+            for (int round = 0; round < rounds; round++) {
+                ArrayHeap<Integer> heap = new ArrayHeap<>(arity);
+
+                long start = System.nanoTime();
+                for (Integer item : items) {
+                    heap.insert(item);
+                }
+                long afterInsert = System.nanoTime();
+                while (!heap.isEmpty()) {
+                    checksum += heap.removeMin();
+                }
+                long afterRemove = System.nanoTime();
+
+                insertTime += afterInsert - start;
+                removeTime += afterRemove - afterInsert;
+            }
+            if (run >= WARMUP_RUNS) {
+                bestInsert = Math.min(bestInsert, 1.0 * insertTime / ops);
+                bestRemove = Math.min(bestRemove, 1.0 * removeTime / ops);
+            }
+        }
+
+        System.out.printf("%d, %d, %.1f, %.1f%n", arity, items.length, bestInsert, bestRemove);
+        if (checksum == 42) {
+            // keeps the JIT from discarding the removals
+            System.out.println();
+        }
+    }
+}
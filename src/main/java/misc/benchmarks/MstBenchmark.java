@@ -0,0 +1,93 @@
+package misc.benchmarks;
+
+import datastructures.interfaces.ISet;
+import mazes.entities.Maze;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+import mazes.generators.base.BaseMazeGenerator;
+import mazes.generators.base.GridGenerator;
+import mazes.generators.base.VoronoiGenerator;
+import misc.graphs.Graph;
+
+import java.awt.*;
+import java.util.Random;
+
+/**
+ * Compares how long each of Graph's MST strategies takes on grid and Voronoi
+ * mazes of increasing size.
+ *
+ * Usage: MstBenchmark [gridRooms...] [-- voronoiRooms...]
+ *
+ * Room counts default to 10k, 100k and 1M for grids and 10k for Voronoi mazes
+ * (VoronoiGenerator's room placement is quadratic, so building larger Voronoi
+ * mazes takes much longer then finding their MST). As in KruskalMazeCarver,
+ * wall weights are randomized before timing.
+ */
+public class MstBenchmark {
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 5;
+
+    public static void main(String[] args) {
+        int[] gridSizes = {10000, 100000, 1000000};
+        int[] voronoiSizes = {10000};
+        if (args.length > 0) {
+            int split = 0;
+            while (split < args.length && !args[split].equals("--")) {
+                split++;
+            }
+            gridSizes = parseSizes(args, 0, split);
+            voronoiSizes = parseSizes(args, split + 1, args.length);
+        }
+
+        System.out.println("maze, rooms, walls, strategy, best ms, mean ms");
+        for (int rooms : gridSizes) {
+            int side = (int) Math.round(Math.sqrt(rooms));
+            run("grid", new GridGenerator(side, side), new Rectangle(0, 0, 10 * side, 10 * side));
+        }
+        for (int rooms : voronoiSizes) {
+            int side = (int) Math.round(Math.sqrt(rooms));
+            run("voronoi", new VoronoiGenerator(rooms, 10, 0, 5), new Rectangle(0, 0, 20 * side, 20 * side));
+        }
+    }
+
+    private static int[] parseSizes(String[] args, int start, int end) {
+        int[] sizes = new int[Math.max(0, end - start)];
+        for (int i = start; i < end; i++) {
+            sizes[i - start] = Integer.parseInt(args[i]);
+        }
+        return sizes;
+    }
+
+    private static void run(String name, BaseMazeGenerator generator, Rectangle bound) {
+        Maze maze = generator.generateBaseMaze(bound);
+        Random rand = new Random(0);
+        for (Wall wall : maze.getWalls()) {
+            wall.setDistance(rand.nextDouble());
+        }
+        Graph<Room, Wall> graph = maze.toGraph();
+
+        for (Graph.MstStrategy strategy : Graph.MstStrategy.values()) {
+            long best = Long.MAX_VALUE;
+            long total = 0;
+            for (int i = 0; i < WARMUP_RUNS + MEASURED_RUNS; i++) {
+                long start = System.nanoTime();
+                ISet<Wall> mst = graph.findMinimumSpanningTree(strategy);
+                long elapsed = System.nanoTime() - start;
+                if (mst.size() != graph.numVertices() - 1) {
+                    throw new IllegalStateException(strategy + " returned " + mst.size() + " edges");
+                }
+                if (i >= WARMUP_RUNS) {
+                    best = Math.min(best, elapsed);
+                    total += elapsed;
+                }
+            }
+            System.out.printf("%s, %d, %d, %s, %.1f, %.1f%n",
+                    name, graph.numVertices(), graph.numEdges(), strategy,
+                    best / 1e6, total / 1e6 / MEASURED_RUNS);
+        }
+
+        for (Wall wall : maze.getWalls()) {
+            wall.resetDistanceToOriginal();
+        }
+    }
+}
@@ -0,0 +1,548 @@
+package misc.graphs;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleKeyedIntHeap;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import misc.exceptions.NoPathExistsException;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToIntFunction;
+
+/**
+ * An immutable, undirected, weighted graph stored in compressed sparse row (CSR) form.
+ *
+ * Every vertex is assigned a dense integer id in [0, numVertices()) and every edge
+ * a dense integer id in [0, numEdges()), in the order they were added. The edges
+ * leaving vertex 'v' are stored in the slots [offsets[v], offsets[v + 1]) of the
+ * 'targets', 'weights' and 'edgeIds' arrays, so walking a vertex's neighbors is a
+ * scan over a few primitive arrays rather then a series of hash lookups.
+ *
+ * Use a CompactGraph.Builder, CompactGraph.of(...) or Graph.toCompactGraph() to
+ * construct one.
+ */
+public class CompactGraph<V, E extends Edge<V> & Comparable<E>> {
+    // Ranges of at most this many vertices are scanned by a single task.
+    private static final int PARALLEL_THRESHOLD = 4096;
+
+    private final Object[] vertices;
+    private final Object[] edges;
+    // Exactly one of these maps vertices to ids: 'ids' for graphs built from
+    // arbitrary vertices, 'vertexIds' for graphs whose vertices already carry
+    // dense ids (see fromDenseIds).
+    private final IDictionary<V, Integer> ids;
+    private final ToIntFunction<? super V> vertexIds;
+    // With dense ids, built by the first getId call whose vertex's own id doesn't
+    // lead back to an equal vertex (say, an equal copy built without an id).
+    private IDictionary<V, Integer> idsByVertex;
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] edgeIds;
+    private final double[] weights;
+
+    // The endpoints and weight of every edge, indexed by edge id.
+    private final int[] edgeSources;
+    private final int[] edgeTargets;
+    private final double[] edgeWeights;
+
+    private CompactGraph(IList<V> vertexList, IList<E> edgeList,
+                         IDictionary<V, Integer> ids, ToIntFunction<? super V> vertexIds) {
+        int numVertices = vertexList.size();
+        int numEdges = edgeList.size();
+
+        this.ids = ids;
+        this.vertexIds = vertexIds;
+        this.vertices = new Object[numVertices];
+        int vertexId = 0;
+        for (V vertex : vertexList) {
+            this.vertices[vertexId] = vertex;
+            vertexId++;
+        }
+
+        this.edges = new Object[numEdges];
+        this.edgeSources = new int[numEdges];
+        this.edgeTargets = new int[numEdges];
+        this.edgeWeights = new double[numEdges];
+        int[] degrees = new int[numVertices];
+        int edgeId = 0;
+        for (E edge : edgeList) {
+            int source = this.knownId(edge.getVertex1());
+            int target = this.knownId(edge.getVertex2());
+            this.edges[edgeId] = edge;
+            this.edgeSources[edgeId] = source;
+            this.edgeTargets[edgeId] = target;
+            this.edgeWeights[edgeId] = edge.getWeight();
+            degrees[source]++;
+            degrees[target]++;
+            edgeId++;
+        }
+
+        this.offsets = new int[numVertices + 1];
+        for (int v = 0; v < numVertices; v++) {
+            this.offsets[v + 1] = this.offsets[v] + degrees[v];
+        }
+
+        // Every edge is stored twice: once in each of its endpoints' rows.
+        this.targets = new int[2 * numEdges];
+        this.edgeIds = new int[2 * numEdges];
+        this.weights = new double[2 * numEdges];
+        int[] next = new int[numVertices];
+        for (int v = 0; v < numVertices; v++) {
+            next[v] = this.offsets[v];
+        }
+        for (int e = 0; e < numEdges; e++) {
+            this.addSlot(next[this.edgeSources[e]]++, this.edgeTargets[e], e);
+            this.addSlot(next[this.edgeTargets[e]]++, this.edgeSources[e], e);
+        }
+    }
+
+    // Returns the id of a vertex that is known to be part of this graph.
+    private int knownId(V vertex) {
+        return this.vertexIds != null ? this.vertexIds.applyAsInt(vertex) : this.ids.get(vertex);
+    }
+
+    /**
+     * Builds a compact graph whose vertices already carry dense ids, without
+     * hashing any of them. The caller must guarantee that 'vertexIds' maps the
+     * i-th vertex of the list to i, and that every edge connects two of them.
+     */
+    static <V, E extends Edge<V> & Comparable<E>> CompactGraph<V, E> fromDenseIds(
+            IList<V> vertices, IList<E> edges, ToIntFunction<? super V> vertexIds) {
+        return new CompactGraph<>(vertices, edges, null, vertexIds);
+    }
+
+    private void addSlot(int slot, int target, int edgeId) {
+        this.targets[slot] = target;
+        this.edgeIds[slot] = edgeId;
+        this.weights[slot] = this.edgeWeights[edgeId];
+    }
+
+    /**
+     * Builds a compact graph out of the given vertices and edges.
+     *
+     * @throws IllegalArgumentException  if any of the edges have a negative weight
+     * @throws IllegalArgumentException  if one of the edges connects to a vertex not
+     *                                   present in the 'vertices' set
+     */
+    public static <V, E extends Edge<V> & Comparable<E>> CompactGraph<V, E> of(ISet<V> vertices, ISet<E> edges) {
+        Builder<V, E> builder = new Builder<>();
+        for (V vertex : vertices) {
+            builder.addVertex(vertex);
+        }
+        for (E edge : edges) {
+            builder.addEdge(edge);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the number of vertices contained within this graph.
+     */
+    public int numVertices() {
+        return this.vertices.length;
+    }
+
+    /**
+     * Returns the number of edges contained within this graph.
+     */
+    public int numEdges() {
+        return this.edges.length;
+    }
+
+    /**
+     * Returns the integer id assigned to the given vertex.
+     *
+     * @throws IllegalArgumentException  if the vertex is not a part of this graph
+     */
+    public int getId(V vertex) {
+        IDictionary<V, Integer> lookup = this.ids;
+        if (this.vertexIds != null) {
+            int id = this.vertexIds.applyAsInt(vertex);
+            if (id >= 0 && id < this.vertices.length && this.vertices[id].equals(vertex)) {
+                return id;
+            }
+            if (this.idsByVertex == null) {
+                IDictionary<V, Integer> index = new ChainedHashDictionary<>(this.vertices.length);
+                for (int i = 0; i < this.vertices.length; i++) {
+                    index.put(this.getVertex(i), i);
+                }
+                this.idsByVertex = index;
+            }
+            lookup = this.idsByVertex;
+        }
+        Integer id = lookup.getOrDefault(vertex, null);
+        if (id == null) {
+            throw new IllegalArgumentException();
+        }
+        return id;
+    }
+
+    /**
+     * Returns the vertex with the given id.
+     *
+     * @throws IndexOutOfBoundsException  if id < 0 or id >= numVertices()
+     */
+    @SuppressWarnings("unchecked")
+    public V getVertex(int id) {
+        return (V) this.vertices[id];
+    }
+
+    /**
+     * Returns the edge with the given id.
+     *
+     * @throws IndexOutOfBoundsException  if id < 0 or id >= numEdges()
+     */
+    @SuppressWarnings("unchecked")
+    public E getEdge(int id) {
+        return (E) this.edges[id];
+    }
+
+    /**
+     * Returns the set of all edges that make up the minimum spanning tree of
+     * this graph, found using Kruskal's algorithm on the edge arrays.
+     *
+     * If the graph contains unconnected components, returns a minimum spanning
+     * forest instead.
+     */
+    public ISet<E> findMinimumSpanningTree() {
+        ISet<E> minTree = new ChainedHashSet<>();
+        for (int edgeId : this.minimumSpanningTreeEdgeIds()) {
+            minTree.add(this.getEdge(edgeId));
+        }
+        return minTree;
+    }
+
+    // Returns the ids of the edges in the minimum spanning forest, in the order
+    // Kruskal's algorithm accepted them.
+    private int[] minimumSpanningTreeEdgeIds() {
+        int numEdges = this.numEdges();
+        int[] sorted = new int[numEdges];
+        for (int e = 0; e < numEdges; e++) {
+            sorted[e] = e;
+        }
+        sortByWeight(sorted, this.edgeWeights);
+
+        int[] parents = new int[this.numVertices()];
+        int[] sizes = new int[this.numVertices()];
+        for (int v = 0; v < parents.length; v++) {
+            parents[v] = v;
+            sizes[v] = 1;
+        }
+
+        int[] accepted = new int[Math.max(0, this.numVertices() - 1)];
+        int numAccepted = 0;
+        for (int i = 0; i < numEdges && numAccepted < accepted.length; i++) {
+            int edgeId = sorted[i];
+            int root1 = find(parents, this.edgeSources[edgeId]);
+            int root2 = find(parents, this.edgeTargets[edgeId]);
+            if (root1 != root2) {
+                if (sizes[root1] < sizes[root2]) {
+                    int temp = root1;
+                    root1 = root2;
+                    root2 = temp;
+                }
+                parents[root2] = root1;
+                sizes[root1] += sizes[root2];
+                accepted[numAccepted] = edgeId;
+                numAccepted++;
+            }
+        }
+
+        int[] output = new int[numAccepted];
+        for (int i = 0; i < numAccepted; i++) {
+            output[i] = accepted[i];
+        }
+        return output;
+    }
+
+    /**
+     * Returns the set of all edges that make up the minimum spanning tree of
+     * this graph, found using Boruvka's algorithm with the given pool of threads.
+     *
+     * Each round, every vertex's adjacency row is scanned in parallel for the
+     * lightest edge leaving its component; the lightest of those per component
+     * are then added to the tree, at least halving the number of components.
+     * Edges of equal weight are ordered by their edge id, so the result is a
+     * valid minimum spanning tree even when many weights tie.
+     *
+     * If the graph contains unconnected components, returns a minimum spanning
+     * forest instead.
+     */
+    public ISet<E> findMinimumSpanningTreeInParallel(ForkJoinPool pool) {
+        int numVertices = this.numVertices();
+        int[] parents = new int[numVertices];
+        int[] sizes = new int[numVertices];
+        int[] components = new int[numVertices];
+        int[] lightestFromVertex = new int[numVertices];
+        int[] lightestFromComponent = new int[numVertices];
+        for (int v = 0; v < numVertices; v++) {
+            parents[v] = v;
+            sizes[v] = 1;
+            components[v] = v;
+        }
+
+        ISet<E> minTree = new ChainedHashSet<>();
+        boolean merged = true;
+        while (merged) {
+            pool.invoke(new LightestEdgeTask(0, numVertices, components, lightestFromVertex));
+
+            for (int v = 0; v < numVertices; v++) {
+                lightestFromComponent[v] = -1;
+            }
+            for (int v = 0; v < numVertices; v++) {
+                int edgeId = lightestFromVertex[v];
+                int component = components[v];
+                if (edgeId >= 0 && (lightestFromComponent[component] < 0
+                        || this.isLighter(edgeId, lightestFromComponent[component]))) {
+                    lightestFromComponent[component] = edgeId;
+                }
+            }
+
+            merged = false;
+            for (int c = 0; c < numVertices; c++) {
+                int edgeId = lightestFromComponent[c];
+                if (edgeId < 0) {
+                    continue;
+                }
+                int root1 = find(parents, this.edgeSources[edgeId]);
+                int root2 = find(parents, this.edgeTargets[edgeId]);
+                if (root1 != root2) {
+                    if (sizes[root1] < sizes[root2]) {
+                        int temp = root1;
+                        root1 = root2;
+                        root2 = temp;
+                    }
+                    parents[root2] = root1;
+                    sizes[root1] += sizes[root2];
+                    minTree.add(this.getEdge(edgeId));
+                    merged = true;
+                }
+            }
+
+            for (int v = 0; v < numVertices; v++) {
+                components[v] = find(parents, v);
+            }
+        }
+        return minTree;
+    }
+
+    // Orders edges by weight, breaking ties by edge id.
+    private boolean isLighter(int edgeId, int otherEdgeId) {
+        double weight = this.edgeWeights[edgeId];
+        double otherWeight = this.edgeWeights[otherEdgeId];
+        return weight < otherWeight || (weight == otherWeight && edgeId < otherEdgeId);
+    }
+
+    // For every vertex in [lo, hi), records the lightest edge leading to a vertex
+    // in a different component, or -1 if there isn't one. Each task only writes
+    // to its own slice of 'lightestFromVertex', so no synchronization is needed.
+    private class LightestEdgeTask extends RecursiveAction {
+        private final int lo;
+        private final int hi;
+        private final int[] components;
+        private final int[] lightestFromVertex;
+
+        public LightestEdgeTask(int lo, int hi, int[] components, int[] lightestFromVertex) {
+            this.lo = lo;
+            this.hi = hi;
+            this.components = components;
+            this.lightestFromVertex = lightestFromVertex;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.hi - this.lo > PARALLEL_THRESHOLD) {
+                int mid = (this.lo + this.hi) >>> 1;
+                invokeAll(
+                        new LightestEdgeTask(this.lo, mid, this.components, this.lightestFromVertex),
+                        new LightestEdgeTask(mid, this.hi, this.components, this.lightestFromVertex));
+                return;
+            }
+            for (int v = this.lo; v < this.hi; v++) {
+                int lightest = -1;
+                for (int slot = offsets[v]; slot < offsets[v + 1]; slot++) {
+                    int edgeId = edgeIds[slot];
+                    if (this.components[targets[slot]] != this.components[v]
+                            && (lightest < 0 || isLighter(edgeId, lightest))) {
+                        lightest = edgeId;
+                    }
+                }
+                this.lightestFromVertex[v] = lightest;
+            }
+        }
+    }
+
+    // Finds the root of the given vertex, halving the path along the way.
+    private static int find(int[] parents, int vertex) {
+        while (parents[vertex] != vertex) {
+            parents[vertex] = parents[parents[vertex]];
+            vertex = parents[vertex];
+        }
+        return vertex;
+    }
+
+    // Sorts the given edge ids by their weight using a bottom-up merge sort.
+    private static void sortByWeight(int[] edgeIds, double[] edgeWeights) {
+        int[] source = edgeIds;
+        int[] buffer = new int[edgeIds.length];
+        for (int width = 1; width < edgeIds.length; width *= 2) {
+            for (int lo = 0; lo < edgeIds.length; lo += 2 * width) {
+                int mid = Math.min(lo + width, edgeIds.length);
+                int hi = Math.min(lo + 2 * width, edgeIds.length);
+                int left = lo;
+                int right = mid;
+                for (int k = lo; k < hi; k++) {
+                    if (right >= hi || (left < mid && edgeWeights[source[left]] <= edgeWeights[source[right]])) {
+                        buffer[k] = source[left];
+                        left++;
+                    } else {
+                        buffer[k] = source[right];
+                        right++;
+                    }
+                }
+            }
+            int[] temp = source;
+            source = buffer;
+            buffer = temp;
+        }
+        if (source != edgeIds) {
+            for (int i = 0; i < edgeIds.length; i++) {
+                edgeIds[i] = source[i];
+            }
+        }
+    }
+
+    // Returns the id of the endpoint of the given edge that isn't 'vertexId'.
+    int getOtherEndpoint(int edgeId, int vertexId) {
+        return this.edgeSources[edgeId] == vertexId ? this.edgeTargets[edgeId] : this.edgeSources[edgeId];
+    }
+
+    /**
+     * Returns the edges that make up the shortest path from the start
+     * to the end, found by running Dijkstra's algorithm on the CSR arrays.
+     *
+     * See Graph.findShortestPathBetween(start, end) for details on what the
+     * output list must contain.
+     *
+     * @throws IllegalArgumentException  if either vertex is not a part of this graph
+     * @throws NoPathExistsException     if there does not exist a path from the start to the end
+     */
+    public IList<E> findShortestPathBetween(V start, V end) {
+        return this.runDijkstra(this.getId(start), this.getId(end)).pathTo(end);
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from the given source until every reachable vertex
+     * has been settled, and returns the resulting shortest path tree.
+     *
+     * @throws IllegalArgumentException  if the source is not a part of this graph
+     */
+    public ShortestPathTree<V, E> findShortestPathTree(V source) {
+        return this.runDijkstra(this.getId(source), -1);
+    }
+
+    // Settles vertices in order of distance from the source until the goal is
+    // settled, or until every reachable vertex is if the goal is -1. Only the
+    // entries of settled vertices in the returned tree are final.
+    private ShortestPathTree<V, E> runDijkstra(int source, int goal) {
+        int numVertices = this.numVertices();
+        double[] distances = new double[numVertices];
+        int[] parentEdges = new int[numVertices];
+        boolean[] settled = new boolean[numVertices];
+        for (int v = 0; v < numVertices; v++) {
+            distances[v] = Double.POSITIVE_INFINITY;
+            parentEdges[v] = -1;
+        }
+
+        DoubleKeyedIntHeap heap = new DoubleKeyedIntHeap(numVertices);
+        distances[source] = 0.0;
+        heap.insert(source, 0.0);
+        while (!heap.isEmpty()) {
+            int vertex = heap.removeMin();
+            settled[vertex] = true;
+            if (vertex == goal) {
+                break;
+            }
+            for (int slot = this.offsets[vertex]; slot < this.offsets[vertex + 1]; slot++) {
+                int target = this.targets[slot];
+                double newDistance = distances[vertex] + this.weights[slot];
+                if (!settled[target] && newDistance < distances[target]) {
+                    distances[target] = newDistance;
+                    parentEdges[target] = this.edgeIds[slot];
+                    if (heap.contains(target)) {
+                        heap.decreaseKey(target, newDistance);
+                    } else {
+                        heap.insert(target, newDistance);
+                    }
+                }
+            }
+        }
+
+        if (goal >= 0 && !settled[goal]) {
+            distances[goal] = Double.POSITIVE_INFINITY;
+        }
+        return new ShortestPathTree<>(this, source, distances, parentEdges);
+    }
+
+    /**
+     * Collects vertices and edges and interns each vertex to a dense integer id
+     * before building the final CompactGraph.
+     */
+    public static class Builder<V, E extends Edge<V> & Comparable<E>> {
+        private IDictionary<V, Integer> ids;
+        private IList<V> vertices;
+        private IList<E> edges;
+
+        public Builder() {
+            this.ids = new ChainedHashDictionary<>();
+            this.vertices = new DoubleLinkedList<>();
+            this.edges = new DoubleLinkedList<>();
+        }
+
+        /**
+         * Adds the given vertex, assigning it the next unused id. Adding a vertex
+         * that is already present does nothing.
+         */
+        public Builder<V, E> addVertex(V vertex) {
+            if (!this.ids.containsKey(vertex)) {
+                this.ids.put(vertex, this.vertices.size());
+                this.vertices.add(vertex);
+            }
+            return this;
+        }
+
+        /**
+         * Adds the given edge, assigning it the next unused edge id.
+         *
+         * @throws IllegalArgumentException  if the edge has a negative weight
+         * @throws IllegalArgumentException  if one of the edge's vertices has not been added yet
+         */
+        public Builder<V, E> addEdge(E edge) {
+            if (edge.getWeight() < 0) {
+                throw new IllegalArgumentException();
+            }
+            if (!this.ids.containsKey(edge.getVertex1()) || !this.ids.containsKey(edge.getVertex2())) {
+                throw new IllegalArgumentException();
+            }
+            this.edges.add(edge);
+            return this;
+        }
+
+        /**
+         * Returns a new CompactGraph containing every vertex and edge added so far.
+         *
+         * The graph gets its own copy of the vertex ids, so it is unaffected by
+         * anything added to the builder afterwards.
+         */
+        public CompactGraph<V, E> build() {
+            IDictionary<V, Integer> idsCopy = new ChainedHashDictionary<>(this.ids.size());
+            this.ids.forEach(idsCopy::put);
+            return new CompactGraph<>(this.vertices, this.edges, idsCopy, null);
+        }
+    }
+}
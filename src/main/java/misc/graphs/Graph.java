@@ -4,16 +4,26 @@ package misc.graphs;
 import datastructures.concrete.ArrayDisjointSet;
 import datastructures.concrete.ArrayHeap;
 import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleKeyedIntHeap;
 import datastructures.concrete.DoubleLinkedList;
-import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.IntHeap;
+import datastructures.concrete.IntIntDictionary;
+import datastructures.concrete.IntList;
+import datastructures.concrete.MonotoneBucketQueue;
+import datastructures.concrete.dictionaries.DictionaryFactory;
 import datastructures.interfaces.IDictionary;
-import datastructures.interfaces.IDisjointSet;
+import datastructures.interfaces.IKeyedIntQueue;
 import datastructures.interfaces.IList;
 import datastructures.interfaces.IPriorityQueue;
 import datastructures.interfaces.ISet;
-import misc.Searcher;
 import misc.exceptions.NoPathExistsException;
 
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToIntFunction;
+
 
 /**
  * Represents an undirected, weighted graph, possibly containing self-loops, parallel edges,
@@ -62,52 +72,279 @@ public class Graph<V, E extends Edge<V> & Comparable<E>> {
     // get stuck, let us know we'll try and help you get unstuck as best as we can.
     
     private IDictionary<V, ISet<E>> graph;
+    // The kind of dictionary every hashed map and set this graph builds uses.
+    private DictionaryFactory dictionaries;
     private IList<V> vertices;
     private IList<E> edges;
+
+    // Returned in place of a vertex's edge set when it has no edges at all.
+    private final ISet<E> noEdges = new ChainedHashSet<>();
+
+    // Only set when the caller opted in to dense vertex ids (see fromTrustedArrays).
+    // The id-indexed arrays below then replace 'graph' entirely: vertex i's
+    // incident edges are the indices in adjacencyById[i] into edgesById.
+    private ToIntFunction<? super V> vertexIds;
+    private Object[] verticesById;
+    private IntList[] adjacencyById;
+    private Object[] edgesById;
+
+    // Built the first time idOf meets a vertex whose own id doesn't lead back
+    // to an equal vertex, such as an equal copy that was never given an id.
+    private IDictionary<V, Integer> idsByVertex;
+
+    // The largest edge weight if every weight is a whole number no bigger than
+    // MAX_BUCKET_WEIGHT, or -1 if not. Found by the first shortest path search.
+    private int bucketWeightBound = UNSCANNED;
+
+    // Built by the first call to toCompactGraph(), then shared by later calls.
+    private CompactGraph<V, E> compactGraph;
+    private static final int UNSCANNED = -2;
+    private static final int MAX_BUCKET_WEIGHT = 1 << 12;
+    private static final int SEARCH_STARTING_SIZE = 16;
+    private static final DictionaryFactory DEFAULT_DICTIONARIES = DictionaryFactory.OPEN_ADDRESSING;
+
     /**
      * 
      * Constructs a new graph based on the given vertices and edges.
      *
+     * A vertex that appears in the list more then once is only added to the
+     * graph once.
+     *
      * @throws IllegalArgumentException  if any of the edges have a negative weight
      * @throws IllegalArgumentException  if one of the edges connects to a vertex not
      *                                   present in the 'vertices' list
      */
     public Graph(IList<V> vertices, IList<E> edges) {
-        graph = new ChainedHashDictionary<>();
-        for (E edge:edges) {
-            if (edge.getWeight() < 0) {
-                throw new IllegalArgumentException();
+        this(vertices, edges, DEFAULT_DICTIONARIES);
+    }
+
+    /**
+     * Like Graph(vertices, edges), but every hashed map and set the graph builds
+     * (its adjacency sets, search tables and so on) is a dictionary of the
+     * given kind.
+     *
+     * @throws IllegalArgumentException  if any of the edges have a negative weight
+     * @throws IllegalArgumentException  if one of the edges connects to a vertex not
+     *                                   present in the 'vertices' list
+     */
+    public Graph(IList<V> vertices, IList<E> edges, DictionaryFactory dictionaries) {
+        this(vertices, edges, dictionaries, true);
+    }
+
+    // Builds the adjacency map. When 'validate' is set, every edge's endpoints are
+    // checked against a hashed index of the vertices, built once up front, so
+    // construction takes O(V + E) time rather then O(V * E). The same index
+    // tells us whether any vertex was listed twice.
+    private Graph(IList<V> vertices, IList<E> edges, DictionaryFactory dictionaries, boolean validate) {
+        this.dictionaries = dictionaries;
+        ISet<V> vertexIndex = null;
+        if (validate) {
+            vertexIndex = new ChainedHashSet<>(dictionaries, vertices.size());
+            for (V vertex : vertices) {
+                vertexIndex.add(vertex);
             }
-            if (!vertices.contains(edge.getVertex1()) || !vertices.contains(edge.getVertex2())) {
-                throw new IllegalArgumentException();
+            if (vertexIndex.size() < vertices.size()) {
+                vertices = this.withoutDuplicates(vertices, vertexIndex.size());
             }
-            
-            
-            if (!graph.containsKey(edge.getVertex1())) {
-                ISet<E> newSet = new ChainedHashSet<>();
-                newSet.add(edge);
-                graph.put(edge.getVertex1(), newSet);
-            }else {
-                ISet<E> newSet = graph.get(edge.getVertex1());
-                newSet.add(edge);
-                graph.put(edge.getVertex1(), newSet);               
+        }
+
+        graph = dictionaries.create(vertices.size());
+        for (E edge:edges) {
+            if (validate) {
+                if (edge.getWeight() < 0) {
+                    throw new IllegalArgumentException();
+                }
+                if (!vertexIndex.contains(edge.getVertex1()) || !vertexIndex.contains(edge.getVertex2())) {
+                    throw new IllegalArgumentException();
+                }
             }
-            
-            if (!graph.containsKey(edge.getVertex2())) {
-                ISet<E> newSet = new ChainedHashSet<>();
-                newSet.add(edge);
-                graph.put(edge.getVertex2(), newSet);
-
-            }else {
-                ISet<E> newSet = graph.get(edge.getVertex2());
-                newSet.add(edge);
-                graph.put(edge.getVertex2(), newSet);  
-            }           
+            this.addToAdjacency(edge.getVertex1(), edge);
+            this.addToAdjacency(edge.getVertex2(), edge);
         }
         this.vertices = vertices;
         this.edges = edges;
     }
 
+    // Returns the vertices in their original order, keeping only the first copy
+    // of each.
+    private IList<V> withoutDuplicates(IList<V> vertices, int numDistinct) {
+        IList<V> distinct = new DoubleLinkedList<>();
+        ISet<V> seen = new ChainedHashSet<>(this.dictionaries, numDistinct);
+        for (V vertex : vertices) {
+            if (!seen.contains(vertex)) {
+                seen.add(vertex);
+                distinct.add(vertex);
+            }
+        }
+        return distinct;
+    }
+
+    private void addToAdjacency(V vertex, E edge) {
+        ISet<E> vEdges = graph.getOrDefault(vertex, null);
+        if (vEdges == null) {
+            vEdges = new ChainedHashSet<>(this.dictionaries);
+            graph.put(vertex, vEdges);
+        }
+        vEdges.add(edge);
+    }
+
+    /**
+     * Constructs a new graph from vertices and edges that the caller has already
+     * checked, skipping all validation.
+     *
+     * This is meant for trusted producers, such as the maze generators, that build
+     * their edges directly out of their own vertices. The caller must guarantee that
+     * no vertex appears twice, that no edge has a negative weight and that every
+     * edge's endpoints appear in the 'vertices' array; the graph's behavior is
+     * undefined otherwise.
+     */
+    public static <V, E extends Edge<V> & Comparable<E>> Graph<V, E> fromTrustedArrays(V[] vertices, E[] edges) {
+        return fromTrustedArrays(vertices, edges, DEFAULT_DICTIONARIES);
+    }
+
+    /**
+     * Like fromTrustedArrays(vertices, edges), but every hashed map and set the
+     * graph builds is a dictionary of the given kind.
+     */
+    public static <V, E extends Edge<V> & Comparable<E>> Graph<V, E> fromTrustedArrays(
+            V[] vertices, E[] edges, DictionaryFactory dictionaries) {
+        return new Graph<>(arrayToList(vertices), arrayToList(edges), dictionaries, false);
+    }
+
+    /**
+     * Like fromTrustedArrays(vertices, edges), but the caller also supplies a dense
+     * integer id for every vertex: 'vertexIds' must map vertices[i] to i.
+     *
+     * The graph then stores its adjacency lists, disjoint sets and search state in
+     * arrays indexed by those ids, so none of its algorithms need to hash a vertex.
+     *
+     * @throws IllegalArgumentException  if vertexIds does not map some vertices[i] to i
+     */
+    public static <V, E extends Edge<V> & Comparable<E>> Graph<V, E> fromTrustedArrays(
+            V[] vertices, E[] edges, ToIntFunction<? super V> vertexIds) {
+        return fromTrustedArrays(vertices, edges, vertexIds, DEFAULT_DICTIONARIES);
+    }
+
+    /**
+     * Like fromTrustedArrays(vertices, edges, vertexIds), but any hashed map or
+     * set the graph still needs (say, for a vertex that isn't one of its own) is
+     * a dictionary of the given kind.
+     *
+     * @throws IllegalArgumentException  if vertexIds does not map some vertices[i] to i
+     */
+    public static <V, E extends Edge<V> & Comparable<E>> Graph<V, E> fromTrustedArrays(
+            V[] vertices, E[] edges, ToIntFunction<? super V> vertexIds,
+            DictionaryFactory dictionaries) {
+        for (int i = 0; i < vertices.length; i++) {
+            if (vertexIds.applyAsInt(vertices[i]) != i) {
+                throw new IllegalArgumentException();
+            }
+        }
+        return new Graph<>(vertices, edges, vertexIds, dictionaries);
+    }
+
+    private Graph(V[] vertices, E[] edges, ToIntFunction<? super V> vertexIds,
+                  DictionaryFactory dictionaries) {
+        this.dictionaries = dictionaries;
+        this.vertices = arrayToList(vertices);
+        this.edges = arrayToList(edges);
+        this.vertexIds = vertexIds;
+        this.verticesById = vertices.clone();
+        this.edgesById = edges.clone();
+        this.adjacencyById = new IntList[vertices.length];
+        for (int i = 0; i < this.adjacencyById.length; i++) {
+            this.adjacencyById[i] = new IntList();
+        }
+        for (int i = 0; i < edges.length; i++) {
+            int id1 = this.idOf(edges[i].getVertex1());
+            int id2 = this.idOf(edges[i].getVertex2());
+            this.adjacencyById[id1].add(i);
+            if (id2 != id1) {
+                this.adjacencyById[id2].add(i);
+            }
+        }
+    }
+
+    // Returns the edges touching the given vertex, whichever way they're stored.
+    private Iterable<E> edgesOf(V vertex) {
+        if (this.vertexIds == null) {
+            return this.graph.getOrDefault(vertex, noEdges);
+        }
+        int id = this.idOf(vertex);
+        if (id == -1) {
+            return noEdges;
+        }
+        return new IncidentEdges(this.adjacencyById[id]);
+    }
+
+    // Returns the vertex's id, or -1 if it isn't one of this graph's vertices.
+    // The vertex's own id is only taken at its word if the graph's vertex with
+    // that id is equal to it; anything else (a vertex from some other graph, or
+    // an equal one built without an id) is looked up by equality instead.
+    private int idOf(V vertex) {
+        int id = this.vertexIds.applyAsInt(vertex);
+        if (id >= 0 && id < this.verticesById.length && this.verticesById[id].equals(vertex)) {
+            return id;
+        }
+        if (this.idsByVertex == null) {
+            IDictionary<V, Integer> index = this.dictionaries.create(this.verticesById.length);
+            for (int i = 0; i < this.verticesById.length; i++) {
+                index.put(this.vertexById(i), i);
+            }
+            this.idsByVertex = index;
+        }
+        return this.idsByVertex.getOrDefault(vertex, -1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V vertexById(int id) {
+        return (V) this.verticesById[id];
+    }
+
+    @SuppressWarnings("unchecked")
+    private E edgeById(int id) {
+        return (E) this.edgesById[id];
+    }
+
+    // A view of one vertex's id-based adjacency list as edge objects.
+    private class IncidentEdges implements Iterable<E> {
+        private IntList edgeIds;
+
+        public IncidentEdges(IntList edgeIds) {
+            this.edgeIds = edgeIds;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new Iterator<E>() {
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return this.index < edgeIds.size();
+                }
+
+                @Override
+                public E next() {
+                    if (!this.hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    this.index++;
+                    return edgeById(edgeIds.get(this.index - 1));
+                }
+            };
+        }
+    }
+
+    // A table for a shortest path search, which may stop after a few steps.
+    private NodeTable<V, E> newNodeTable() {
+        return this.newNodeTable(SEARCH_STARTING_SIZE);
+    }
+
+    private NodeTable<V, E> newNodeTable(int expectedSize) {
+        return new NodeTable<>(this.vertexIds == null ? null : this, this.dictionaries, expectedSize);
+    }
+
     /**
      * Sometimes, we store vertices and edges as sets instead of lists, so we
      * provide this extra constructor to make converting between the two more
@@ -118,11 +355,25 @@ public class Graph<V, E extends Edge<V> & Comparable<E>> {
         this(setToList(vertices), setToList(edges));
     }
 
+    /**
+     * Like Graph(vertices, edges), but every hashed map and set the graph builds
+     * is a dictionary of the given kind.
+     */
+    public Graph(ISet<V> vertices, ISet<E> edges, DictionaryFactory dictionaries) {
+        this(setToList(vertices), setToList(edges), dictionaries);
+    }
+
     // You shouldn't need to call this helper method -- it only needs to be used
     // in the constructor above.
     private static <T> IList<T> setToList(ISet<T> set) {
         IList<T> output = new DoubleLinkedList<>();
-        for (T item : set) {
+        set.forEach(output::add);
+        return output;
+    }
+
+    private static <T> IList<T> arrayToList(T[] array) {
+        IList<T> output = new DoubleLinkedList<>();
+        for (T item : array) {
             output.add(item);
         }
         return output;
@@ -143,56 +394,250 @@ public class Graph<V, E extends Edge<V> & Comparable<E>> {
 
     }
 
+    /**
+     * Returns a compact, immutable copy of this graph that stores its adjacency
+     * information in primitive arrays. Vertices and edges are assigned integer
+     * ids in the order they appear in this graph's vertex and edge lists.
+     *
+     * The copy is built on the first call and returned again by every later one;
+     * findShortestPathTree and MstStrategy.BORUVKA use it too. It records the
+     * edge weights at the time it was built, so changing a weight afterwards
+     * does not affect it.
+     */
+    public CompactGraph<V, E> toCompactGraph() {
+        if (this.compactGraph == null) {
+            if (this.vertexIds != null) {
+                // the vertex list is already in id order, so nothing needs hashing
+                this.compactGraph = CompactGraph.fromDenseIds(this.vertices, this.edges, this.vertexIds);
+            } else {
+                CompactGraph.Builder<V, E> builder = new CompactGraph.Builder<>();
+                for (V vertex : this.vertices) {
+                    builder.addVertex(vertex);
+                }
+                for (E edge : this.edges) {
+                    builder.addEdge(edge);
+                }
+                this.compactGraph = builder.build();
+            }
+        }
+        return this.compactGraph;
+    }
+
     /**
      * Returns the set of all edges that make up the minimum spanning tree of
      * this graph.
      *
      * If there exists multiple valid MSTs, return any one of them.
      *
+     * This is equivalent to calling findMinimumSpanningTree(MstStrategy.KRUSKAL).
+     *
      * Precondition: the graph does not contain any unconnected components.
      */
     public ISet<E> findMinimumSpanningTree() {
-        IList<E> sortedEdges = this.sortedEdges();
-        ISet<E> minTree = new ChainedHashSet<>();
-        IDisjointSet<V> components = new ArrayDisjointSet<>();
-        for (V vertex: this.vertices) {
-            components.makeSet(vertex);
-        }
-        
-        for (E edge:sortedEdges) {
+        return this.findMinimumSpanningTree(MstStrategy.KRUSKAL);
+    }
+
+    /**
+     * Returns the set of all edges that make up the minimum spanning tree of
+     * this graph, using the given algorithm.
+     *
+     * If there exists multiple valid MSTs, return any one of them.
+     *
+     * Precondition: the graph does not contain any unconnected components.
+     */
+    public ISet<E> findMinimumSpanningTree(MstStrategy strategy) {
+        if (strategy == MstStrategy.BORUVKA) {
+            return this.toCompactGraph().findMinimumSpanningTreeInParallel(ForkJoinPool.commonPool());
+        } else if (strategy == MstStrategy.PRIM) {
+            return this.prim();
+        }
+        return this.kruskal();
+    }
+
+    /**
+     * The algorithms findMinimumSpanningTree can use.
+     */
+    public enum MstStrategy {
+        /**
+         * Adds edges to the tree from lightest to heaviest, skipping the ones
+         * that would form a cycle. Edges are heapified rather then sorted, and
+         * the search stops as soon as the tree is complete. Runs on a single
+         * thread.
+         */
+        KRUSKAL,
+
+        /**
+         * Repeatedly connects every component to its nearest neighbor using
+         * Boruvka's algorithm, scanning for each component's lightest edge on
+         * all the threads of the common ForkJoinPool.
+         */
+        BORUVKA,
+
+        /**
+         * Grows the tree outwards from a single vertex using Prim's algorithm,
+         * always adding the lightest edge leading out of the tree. Avoids
+         * sorting the edges and does not need a disjoint set.
+         */
+        PRIM
+    }
+
+    private ISet<E> kruskal() {
+        ISet<E> minTree = new ChainedHashSet<>(this.dictionaries);
+        Iterator<E> accepted = this.minimumSpanningTreeIterator();
+        while (accepted.hasNext()) {
+            minTree.add(accepted.next());
+        }
+        return minTree;
+    }
+
+    /**
+     * Returns an iterator that runs Kruskal's algorithm lazily, yielding each edge
+     * of the minimum spanning tree as soon as it has been accepted, in order of
+     * increasing weight.
+     *
+     * Nothing beyond the heap of edges and the disjoint set is materialized, so a
+     * client can start drawing or writing out the tree before the algorithm has
+     * finished (for example, through the iterator's forEachRemaining method).
+     * If the graph contains unconnected components, the iterator yields a
+     * minimum spanning forest instead.
+     *
+     * Edge weights must not change while the iteration is in progress.
+     */
+    public Iterator<E> minimumSpanningTreeIterator() {
+        return new KruskalIterator();
+    }
+
+    // Rather then sorting every edge up front, we heapify them in O(E) and only
+    // pop as many as we need: once the tree has V - 1 edges, the rest of the
+    // heap can't contribute anything and is never sorted.
+    //
+    // With dense vertex ids, the heap holds edge ids ordered by a snapshot of
+    // their weights, and the disjoint set is indexed by vertex id directly.
+    private class KruskalIterator implements Iterator<E> {
+        private IPriorityQueue<E> edgeHeap;
+        private IntHeap edgeIdHeap;
+        private ArrayDisjointSet<V> components;
+        private int edgesNeeded;
+        private E nextEdge;
+
+        public KruskalIterator() {
+            if (vertexIds == null) {
+                this.edgeHeap = new ArrayHeap<>(edges);
+                this.components = new ArrayDisjointSet<>(vertices);
+            } else {
+                double[] weights = new double[edgesById.length];
+                int[] edgeIds = new int[edgesById.length];
+                for (int i = 0; i < edgeIds.length; i++) {
+                    weights[i] = edgeById(i).getWeight();
+                    edgeIds[i] = i;
+                }
+                this.edgeIdHeap = new IntHeap(edgeIds, (a, b) -> Double.compare(weights[a], weights[b]));
+                this.components = ArrayDisjointSet.ofIds(adjacencyById.length);
+            }
+            this.edgesNeeded = vertices.size() - 1;
+            this.nextEdge = null;
+        }
+
+        private boolean outOfEdges() {
+            return this.edgeHeap != null ? this.edgeHeap.isEmpty() : this.edgeIdHeap.isEmpty();
+        }
+
+        private E removeLightest() {
+            return this.edgeHeap != null ? this.edgeHeap.removeMin() : edgeById(this.edgeIdHeap.removeMin());
+        }
+
+        // Merges the components on either side of the edge, if they're different.
+        private boolean joinsComponents(E edge) {
             V v1 = edge.getVertex1();
             V v2 = edge.getVertex2();
-            if (components.findSet(v1) != components.findSet(v2)) {
-                components.union(v1, v2);
-                minTree.add(edge);
+            if (vertexIds == null) {
+                return this.components.tryUnion(v1, v2);
             }
-            
-            /*
-             * going through edges in increasing order
-             * first check:
-             *      do related vertices incest?
-             *      if so
-             *          nothing, joffrey was enough of a mistake
-             *      otherwise
-             *          add that shit, natural selection for the win
-             *  DONE LIKE THE RED WEDDING
-             *  next check:
-             *      is there only one parent?
-             *      if so
-             *          end me
-             *      otherwise
-             *          continue the loop
-             * 
-             */
-        }
-        
-        return minTree;
-        
+            return this.components.tryUnionById(idOf(v1), idOf(v2));
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.nextEdge == null && this.edgesNeeded > 0 && !this.outOfEdges()) {
+                E edge = this.removeLightest();
+                if (this.joinsComponents(edge)) {
+                    this.edgesNeeded--;
+                    this.nextEdge = edge;
+                }
+
+                /*
+                 * going through edges in increasing order
+                 * first check:
+                 *      do related vertices incest?
+                 *      if so
+                 *          nothing, joffrey was enough of a mistake
+                 *      otherwise
+                 *          add that shit, natural selection for the win
+                 *  DONE LIKE THE RED WEDDING
+                 *  next check:
+                 *      is there only one parent?
+                 *      if so
+                 *          end me
+                 *      otherwise
+                 *          continue the loop
+                 * 
+                 */
+            }
+            return this.nextEdge != null;
+        }
+
+        @Override
+        public E next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            E edge = this.nextEdge;
+            this.nextEdge = null;
+            return edge;
+        }
     }
-    private IList<E> sortedEdges() {
-        return Searcher.topKSort(edges.size(), edges);   
+
+    // Grows a tree from each vertex not yet reached, so unconnected components
+    // end up with a spanning forest. A vertex's VNode 'distance' is the weight of
+    // the lightest known edge connecting it to the tree so far, and 'edge' is
+    // that edge.
+    private ISet<E> prim() {
+        ISet<E> minTree = new ChainedHashSet<>(this.dictionaries);
+        NodeTable<V, E> vNodes = this.newNodeTable(this.vertices.size());
+        DoubleKeyedIntHeap heap = new DoubleKeyedIntHeap(this.vertices.size());
+        for (V root : this.vertices) {
+            if (vNodes.get(root) != null) {
+                continue;
+            }
+            VNode<V, E> rootNode = new VNode<>(root, 0, null, null);
+            vNodes.put(root, rootNode);
+            heap.insert(rootNode.index, 0);
+
+            while (!heap.isEmpty()) {
+                VNode<V, E> vertexNode = vNodes.byIndex(heap.removeMin());
+                if (vertexNode.edge != null) {
+                    minTree.add(vertexNode.edge);
+                }
+                for (E edge : this.edgesOf(vertexNode.vertex)) {
+                    V otherVertex = edge.getOtherVertex(vertexNode.vertex);
+                    VNode<V, E> otherVertexNode = vNodes.get(otherVertex);
+                    if (otherVertexNode == null) {
+                        otherVertexNode = new VNode<>(otherVertex, edge.getWeight(), vertexNode.vertex, edge);
+                        vNodes.put(otherVertex, otherVertexNode);
+                        heap.insert(otherVertexNode.index, otherVertexNode.distance);
+                    } else if (edge.getWeight() < otherVertexNode.distance && heap.contains(otherVertexNode.index)) {
+                        otherVertexNode.distance = edge.getWeight();
+                        otherVertexNode.daddi = vertexNode.vertex;
+                        otherVertexNode.edge = edge;
+                        heap.decreaseKey(otherVertexNode.index, otherVertexNode.distance);
+                    }
+                }
+            }
+        }
+        return minTree;
     }
 
+
     /**
      * Returns the edges that make up the shortest path from the start
      * to the end.
@@ -203,102 +648,452 @@ public class Graph<V, E extends Edge<V> & Comparable<E>> {
      *
      * Return an empty list if the start and end vertices are the same.
      *
+     * This is equivalent to calling findShortestPathBetween(start, end, PathSearch.UNIDIRECTIONAL).
+     *
      * @throws NoPathExistsException  if there does not exist a path from the start to the end
      */
-    
-    //why is graph empty??
-    @SuppressWarnings("unchecked")
     public IList<E> findShortestPathBetween(V start, V end) {
+        return this.findShortestPathBetween(start, end, PathSearch.UNIDIRECTIONAL);
+    }
+
+    /**
+     * Returns the edges that make up the shortest path from the start to the end,
+     * using the given search strategy. See findShortestPathBetween(start, end) for
+     * details on what the output list must contain.
+     *
+     * Both strategies stop as soon as the shortest path is known, rather then
+     * exploring every vertex reachable from the start.
+     *
+     * @throws NoPathExistsException  if there does not exist a path from the start to the end
+     */
+    public IList<E> findShortestPathBetween(V start, V end, PathSearch mode) {
+        return this.findShortestPathBetween(start, end, mode, new SearchStats());
+    }
+
+    /**
+     * Like findShortestPathBetween(start, end, mode), but also records how much
+     * work the search did in the given stats, replacing whatever they held.
+     *
+     * @throws NoPathExistsException  if there does not exist a path from the start to the end
+     */
+    public IList<E> findShortestPathBetween(V start, V end, PathSearch mode, SearchStats stats) {
+        if (mode == PathSearch.UNIDIRECTIONAL) {
+            return this.findShortestPathBetween(start, end, Heuristic.zero(), stats);
+        }
+        stats.settledCount = 0;
+        stats.usedBucketQueue = false;
         if (start.equals(end)) {
             return new DoubleLinkedList<E>();
         }
-        VNode startNode = new VNode(start, 0, null, null);
-        IPriorityQueue<VNode> heap = new ArrayHeap<>();
-        heap.insert(startNode);
-        IDictionary<V, VNode> vNodes = new ChainedHashDictionary<>();        
-        vNodes.put(start, startNode);
-        for (V vertex:this.vertices) {
-            if (!vertex.equals(start)){
-                VNode inserted = new VNode(vertex, null, null);
-                vNodes.put(vertex, inserted);
-                heap.insert(inserted);
-               }
+        return this.bidirectionalSearch(start, end, stats);
+    }
+
+    /**
+     * Returns the edges that make up the shortest path from the start to the end,
+     * using an A* search guided by the given heuristic. See
+     * findShortestPathBetween(start, end) for details on what the output list
+     * must contain.
+     *
+     * The search settles vertices in order of their distance from the start plus
+     * their estimated distance to the end, so a good heuristic keeps it focused on
+     * the region between the two vertices. The heuristic must be consistent (see
+     * Heuristic), or the returned path may not be the shortest one.
+     *
+     * @throws NoPathExistsException  if there does not exist a path from the start to the end
+     */
+    public IList<E> findShortestPathBetween(V start, V end, Heuristic<? super V> heuristic) {
+        return this.findShortestPathBetween(start, end, heuristic, new SearchStats());
+    }
+
+    /**
+     * Like findShortestPathBetween(start, end, heuristic), but also records how
+     * much work the search did in the given stats, replacing whatever they held.
+     *
+     * @throws NoPathExistsException  if there does not exist a path from the start to the end
+     */
+    public IList<E> findShortestPathBetween(V start, V end, Heuristic<? super V> heuristic,
+                                            SearchStats stats) {
+        stats.settledCount = 0;
+        stats.usedBucketQueue = false;
+        if (start.equals(end)) {
+            return new DoubleLinkedList<E>();
+        }
+
+        SearchFrontier<V, E> frontier = new SearchFrontier<>(
+                start, end, heuristic, this.newNodeTable(), this.newSearchQueue());
+        try {
+            while (!frontier.heap.isEmpty()) {
+                VNode<V, E> vertexNode = frontier.removeMin();
+                stats.settledCount++;
+                if (vertexNode.vertex.equals(end)) {
+                    return frontier.pathFromSource(end);
+                }
+                this.edgesOf(vertexNode.vertex).forEach(edge -> frontier.relax(vertexNode, edge));
             }
-    
+            throw new NoPathExistsException();
+        } finally {
+            stats.usedBucketQueue = frontier.usesBuckets();
+        }
+    }
+
+    // Grows one frontier from the start and another from the end, always expanding
+    // whichever one is currently smaller. Every time an edge reaches a vertex the
+    // other search has already discovered, we get a candidate path; once the two
+    // closest unsettled vertices are together at least as far apart as the best
+    // candidate, no shorter path can exist.
+    private IList<E> bidirectionalSearch(V start, V end, SearchStats stats) {
+        SearchFrontier<V, E> forward = new SearchFrontier<>(
+                start, end, Heuristic.zero(), this.newNodeTable(), this.newSearchQueue());
+        SearchFrontier<V, E> backward = new SearchFrontier<>(
+                end, start, Heuristic.zero(), this.newNodeTable(), this.newSearchQueue());
 
-        
-        
-        while (!heap.isEmpty()) {
-            V vertex= (V) heap.removeMin().vertex;
-            VNode vertexNode = vNodes.get(vertex);
-            ISet<E> vEdges = graph.get(vertex);
-            for (E edge:vEdges) {
-                V otherVertex = edge.getOtherVertex(vertex);
-                VNode otherVertexNode = vNodes.get(otherVertex);
-                double newDistance = edge.getWeight() + vertexNode.distance;
-                if (newDistance < otherVertexNode.distance) {
-                    otherVertexNode.distance = newDistance;
-                    otherVertexNode.daddi = vertex;
-                    otherVertexNode.edge = edge;
-                    vNodes.put(otherVertex, otherVertexNode);
-                    heap.insert(otherVertexNode);
+        double bestDistance = Double.POSITIVE_INFINITY;
+        V meetForward = null;
+        V meetBackward = null;
+        E meetEdge = null;
+
+        while (!forward.heap.isEmpty() && !backward.heap.isEmpty()) {
+            if (forward.heap.peekMinKey() + backward.heap.peekMinKey() >= bestDistance) {
+                break;
+            }
+            boolean isForward = forward.heap.size() <= backward.heap.size();
+            SearchFrontier<V, E> current = isForward ? forward : backward;
+            SearchFrontier<V, E> other = isForward ? backward : forward;
+
+            VNode<V, E> vertexNode = current.removeMin();
+            stats.settledCount++;
+            for (E edge : this.edgesOf(vertexNode.vertex)) {
+                VNode<V, E> reached = current.relax(vertexNode, edge);
+                VNode<V, E> otherSide = other.vNodes.get(reached.vertex);
+                if (otherSide != null) {
+                    double candidate = vertexNode.distance + edge.getWeight() + otherSide.distance;
+                    if (candidate < bestDistance) {
+                        bestDistance = candidate;
+                        meetEdge = edge;
+                        meetForward = isForward ? vertexNode.vertex : reached.vertex;
+                        meetBackward = isForward ? reached.vertex : vertexNode.vertex;
+                    }
                 }
             }
         }
-        
-        IList<E> shortestPathEdge = new DoubleLinkedList<>();
-        VNode current = vNodes.get(end);
 
-        boolean hitsStart = false;
-        while (current.daddi != null) {
-            E currentEdge = (E) current.edge;
-            if (currentEdge.getVertex1().equals(start) ||
-                    currentEdge.getVertex2().equals(start)) {
-                hitsStart = true;
+        stats.usedBucketQueue = forward.usesBuckets() && backward.usesBuckets();
+        if (meetEdge == null) {
+            throw new NoPathExistsException();
+        }
+        IList<E> path = forward.pathFromSource(meetForward);
+        path.add(meetEdge);
+        backward.appendPathToSource(meetBackward, path);
+        return path;
+    }
+
+    // Picks the queue for a shortest path search: a bucket queue if every edge
+    // weight is a small whole number (as in grid mazes), and a heap otherwise.
+    // With a consistent heuristic, a vertex's key can exceed the key of the
+    // vertex that reached it by at most twice the edge's weight, so the buckets
+    // cover twice the largest weight. SearchFrontier switches to a heap should
+    // a key still not fit (say, a heuristic that estimates fractions, or an
+    // edge whose weight was changed after the scan).
+    //
+    // Like the search's NodeTable, the queue starts out small and grows with the
+    // number of vertices discovered, so a search that stops after a few steps
+    // doesn't pay for arrays sized to the whole graph.
+    private IKeyedIntQueue newSearchQueue() {
+        if (this.bucketWeightBound == UNSCANNED) {
+            this.bucketWeightBound = 0;
+            for (E edge : this.edges) {
+                double weight = edge.getWeight();
+                if (weight != Math.rint(weight) || weight < 0 || weight > MAX_BUCKET_WEIGHT) {
+                    this.bucketWeightBound = -1;
+                    break;
+                }
+                this.bucketWeightBound = Math.max(this.bucketWeightBound, (int) weight);
             }
-            V parent = (V) current.daddi;
-            shortestPathEdge.insert(0, (E) current.edge);
-            current = vNodes.get((V) current.daddi);
-            current = vNodes.get(parent);
         }
-        if (!hitsStart) {
-           throw new NoPathExistsException(); 
+        if (this.bucketWeightBound >= 0) {
+            return new MonotoneBucketQueue(2 * this.bucketWeightBound, SEARCH_STARTING_SIZE);
         }
-        return shortestPathEdge;
+        return new DoubleKeyedIntHeap(SEARCH_STARTING_SIZE);
     }
-        
-        
-    
-    
-    //  insert internal class for Heap structure here
-    //  stores vertex and related distance
-    //  all go in min-heap, top vertex is start 
-    private static class VNode implements Comparable<VNode> {
+
+    /**
+     * Runs Dijkstra's algorithm outwards from the given source until every vertex
+     * reachable from it has been settled, and returns the resulting shortest path
+     * tree.
+     *
+     * Computing the tree costs about as much as a single findShortestPathBetween
+     * call that has to explore the whole graph; afterwards, the tree can answer
+     * any number of pathTo(vertex) and distanceTo(vertex) queries from the same
+     * source in time proportional to the length of the answer.
+     *
+     * The tree is a snapshot: changing an edge's weight afterwards does not
+     * affect it. The search runs on the cached copy from toCompactGraph(), so
+     * weights also count as they were when that copy was first built.
+     *
+     * @throws IllegalArgumentException  if the source is not a vertex of this graph
+     */
+    public ShortestPathTree<V, E> findShortestPathTree(V source) {
+        return this.toCompactGraph().findShortestPathTree(source);
+    }
+
+
+    /**
+     * What a single findShortestPathBetween call did. The caller owns it and
+     * passes it in, so queries running at the same time on the same graph each
+     * get their own.
+     */
+    public static class SearchStats {
+        private int settledCount;
+        private boolean usedBucketQueue;
+
+        /**
+         * Returns the number of vertices that were settled (permanently removed
+         * from the search frontier) by the last search these stats were passed to.
+         */
+        public int getSettledCount() {
+            return this.settledCount;
+        }
+
+        /**
+         * Returns true if the last search these stats were passed to kept all of
+         * its frontiers in bucket queues from start to finish, rather then using
+         * a heap (because some weight isn't a small whole number) or falling back
+         * to one partway through (because some key didn't fit the buckets).
+         */
+        public boolean usedBucketQueue() {
+            return this.usedBucketQueue;
+        }
+    }
+
+    /**
+     * The strategies findShortestPathBetween can use to search for a path.
+     */
+    public enum PathSearch {
+        /**
+         * Runs Dijkstra's algorithm outwards from the start, stopping once the
+         * end vertex has been settled. This is an A* search with a heuristic
+         * that always estimates zero.
+         */
+        UNIDIRECTIONAL,
+
+        /**
+         * Runs Dijkstra's algorithm outwards from both the start and the end at
+         * the same time, stopping once the two searches meet along a path that
+         * cannot be improved upon.
+         */
+        BIDIRECTIONAL
+    }
+
+    //  one single-source A* search: every discovered vertex gets a VNode,
+    //  and each VNode's index sits in the queue at most once, keyed by its
+    //  distance plus estimate. When we find a shorter route to a vertex that's
+    //  still queued, we lower its key in place and let the queue restore its
+    //  ordering instead of inserting a duplicate.
+    private static class SearchFrontier<V, E extends Edge<V>> {
+        public NodeTable<V, E> vNodes;
+        public IKeyedIntQueue heap;
+        private V goal;
+        private Heuristic<? super V> heuristic;
+
+        public SearchFrontier(V source, V goal, Heuristic<? super V> heuristic,
+                              NodeTable<V, E> vNodes, IKeyedIntQueue heap) {
+            this.vNodes = vNodes;
+            this.heap = heap;
+            this.goal = goal;
+            this.heuristic = heuristic;
+            VNode<V, E> sourceNode = new VNode<>(source, 0, null, null);
+            sourceNode.remaining = heuristic.estimate(source, goal);
+            this.vNodes.put(source, sourceNode);
+            this.makeRoomFor(sourceNode.estimate());
+            this.heap.insert(sourceNode.index, sourceNode.estimate());
+        }
+
+        // Moves everything into a heap if the current queue can't take the key.
+        private void makeRoomFor(double key) {
+            if (this.heap.canHold(key)) {
+                return;
+            }
+            IKeyedIntQueue replacement = new DoubleKeyedIntHeap(this.vNodes.capacity());
+            while (!this.heap.isEmpty()) {
+                double minKey = this.heap.peekMinKey();
+                replacement.insert(this.heap.removeMin(), minKey);
+            }
+            this.heap = replacement;
+        }
+
+        public VNode<V, E> removeMin() {
+            return this.vNodes.byIndex(this.heap.removeMin());
+        }
+
+        public boolean usesBuckets() {
+            return this.heap instanceof MonotoneBucketQueue;
+        }
+
+        // Relaxes an edge leaving a settled vertex, and returns the VNode of the
+        // vertex on the other side.
+        public VNode<V, E> relax(VNode<V, E> vertexNode, E edge) {
+            V otherVertex = edge.getOtherVertex(vertexNode.vertex);
+            double newDistance = edge.getWeight() + vertexNode.distance;
+            VNode<V, E> otherVertexNode = this.vNodes.get(otherVertex);
+            if (otherVertexNode == null) {
+                otherVertexNode = new VNode<>(otherVertex, newDistance, vertexNode.vertex, edge);
+                otherVertexNode.remaining = this.heuristic.estimate(otherVertex, this.goal);
+                this.vNodes.put(otherVertex, otherVertexNode);
+                this.makeRoomFor(otherVertexNode.estimate());
+                this.heap.insert(otherVertexNode.index, otherVertexNode.estimate());
+            } else if (newDistance < otherVertexNode.distance && this.heap.contains(otherVertexNode.index)) {
+                otherVertexNode.distance = newDistance;
+                otherVertexNode.daddi = vertexNode.vertex;
+                otherVertexNode.edge = edge;
+                this.makeRoomFor(otherVertexNode.estimate());
+                this.heap.decreaseKey(otherVertexNode.index, otherVertexNode.estimate());
+            }
+            return otherVertexNode;
+        }
+
+        // Returns the edges leading from the source to the given vertex, in order.
+        public IList<E> pathFromSource(V vertex) {
+            IList<E> path = new DoubleLinkedList<>();
+            VNode<V, E> current = this.vNodes.get(vertex);
+            while (current.daddi != null) {
+                path.insert(0, current.edge);
+                current = this.vNodes.get(current.daddi);
+            }
+            return path;
+        }
+
+        // Appends the edges leading from the given vertex back to the source, in order.
+        public void appendPathToSource(V vertex, IList<E> path) {
+            VNode<V, E> current = this.vNodes.get(vertex);
+            while (current.daddi != null) {
+                path.add(current.edge);
+                current = this.vNodes.get(current.daddi);
+            }
+        }
+    }
+
+    // Maps each discovered vertex to its VNode: by vertex id if the graph has
+    // dense ids, and through a dictionary otherwise (or for a vertex that isn't
+    // part of the graph at all).
+    //
+    // It also numbers the VNodes 0, 1, 2, ... in the order they're added, which
+    // is what the heaps hold; byIndex turns a number back into its VNode.
+    //
+    // Everything starts out sized for 'expectedSize' VNodes and grows from there.
+    // With dense ids, a table expected to reach every vertex (as Prim's does)
+    // keeps an array indexed by id; any other (say, a search that may stop after
+    // a few steps) maps ids to indices in an IntIntDictionary instead, rather
+    // then allocating an array the size of the graph up front. If the search
+    // goes on to reach a good part of the graph anyway, the table moves over to
+    // an array after all, so long searches don't keep paying for the hashing.
+    private static class NodeTable<V, E> {
+        private static final int ARRAY_FRACTION = 16;
+
+        private Graph<V, ?> idGraph;
+        private VNode<V, E>[] byId;
+        private IntIntDictionary indexById;
+        private IDictionary<V, VNode<V, E>> byVertex;
+        private DictionaryFactory dictionaries;
+        private VNode<V, E>[] byIndex;
+        private int count;
+
+        @SuppressWarnings("unchecked")
+        public NodeTable(Graph<V, ?> idGraph, DictionaryFactory dictionaries, int expectedSize) {
+            this.idGraph = idGraph;
+            this.dictionaries = dictionaries;
+            if (idGraph != null) {
+                if (expectedSize >= idGraph.verticesById.length) {
+                    this.byId = (VNode<V, E>[]) new VNode[idGraph.verticesById.length];
+                } else {
+                    this.indexById = new IntIntDictionary(expectedSize);
+                }
+            }
+            this.byVertex = null;
+            this.byIndex = (VNode<V, E>[]) new VNode[Math.max(expectedSize, 1)];
+            this.count = 0;
+        }
+
+        // How many VNodes the table expects to hold; it grows if it's wrong.
+        public int capacity() {
+            return this.byIndex.length;
+        }
+
+        public VNode<V, E> byIndex(int index) {
+            return this.byIndex[index];
+        }
+
+        // Returns the vertex's VNode, or null if it hasn't been discovered.
+        public VNode<V, E> get(V vertex) {
+            int id = this.idGraph == null ? -1 : this.idGraph.idOf(vertex);
+            if (id != -1) {
+                if (this.byId != null) {
+                    return this.byId[id];
+                }
+                int index = this.indexById.getOrDefault(id, -1);
+                return index == -1 ? null : this.byIndex[index];
+            }
+            return this.byVertex == null ? null : this.byVertex.getOrDefault(vertex, null);
+        }
+
+        // Adds a newly discovered vertex's VNode and assigns it the next index.
+        public void put(V vertex, VNode<V, E> node) {
+            if (this.count == this.byIndex.length) {
+                this.byIndex = Arrays.copyOf(this.byIndex, this.count * 2);
+            }
+            node.index = this.count;
+            this.byIndex[this.count] = node;
+            this.count++;
+
+            int id = this.idGraph == null ? -1 : this.idGraph.idOf(vertex);
+            if (this.byId != null && id != -1) {
+                this.byId[id] = node;
+            } else if (id != -1) {
+                this.indexById.put(id, node.index);
+                if (this.indexById.size() > this.idGraph.verticesById.length / ARRAY_FRACTION) {
+                    this.moveToArray();
+                }
+            } else {
+                if (this.byVertex == null) {
+                    this.byVertex = this.dictionaries.create();
+                }
+                this.byVertex.put(vertex, node);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void moveToArray() {
+            this.byId = (VNode<V, E>[]) new VNode[this.idGraph.verticesById.length];
+            for (int i = 0; i < this.count; i++) {
+                int id = this.idGraph.idOf(this.byIndex[i].vertex);
+                if (id != -1) {
+                    this.byId[id] = this.byIndex[i];
+                }
+            }
+            this.indexById = null;
+        }
+    }
+
+    //  stores a discovered vertex, its best known distance from the start,
+    //  its estimated distance to the goal, the vertex and edge we reached
+    //  it through, and its NodeTable index (the heaps queue that index,
+    //  keyed by distance plus estimate)
+    private static class VNode<V, E> {
+        public int index;
         public double distance;
-        public Object vertex;
-        public Object daddi;
-        public Object edge;
-        public VNode(Object vertex, double distance, Object papa, Object edge) {
+        public double remaining;
+        public V vertex;
+        public V daddi;
+        public E edge;
+        public VNode(V vertex, double distance, V papa, E edge) {
             this.vertex = vertex;
             this.distance = distance;
+            this.remaining = 0;
             this.daddi = papa;
             this.edge = edge;
         }
-        
-        public VNode(Object vertex, Object daddi, Object edge) {
-            this(vertex, Double.POSITIVE_INFINITY, daddi, edge);
-        }
-        
-        public int compareTo(VNode other) {
-            if (this.distance > other.distance) {
-                return 1;
-            } else if (other.distance > this.distance) {
-                return -1;
-            } else {
-                return 0;
-            }
+
+        public double estimate() {
+            return this.distance + this.remaining;
         }
     }
 }
-    
-
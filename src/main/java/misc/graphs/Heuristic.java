@@ -0,0 +1,24 @@
+package misc.graphs;
+
+/**
+ * Estimates how far away some vertex is from a goal vertex. Used to guide
+ * Graph's A* search towards the goal.
+ *
+ * For the search to return an actual shortest path, the estimate must be
+ * *consistent*: it may never overestimate the true distance, and for every edge
+ * (u, v) with weight w, estimate(u, goal) <= w + estimate(v, goal).
+ */
+public interface Heuristic<V> {
+    /**
+     * Returns the estimated cost of the cheapest path from the vertex to the goal.
+     */
+    public double estimate(V vertex, V goal);
+
+    /**
+     * Returns a heuristic that always estimates zero. Running A* with this
+     * heuristic is the same as running Dijkstra's algorithm.
+     */
+    public static <V> Heuristic<V> zero() {
+        return (vertex, goal) -> 0.0;
+    }
+}
@@ -0,0 +1,80 @@
+package misc.graphs;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import misc.exceptions.NoPathExistsException;
+
+/**
+ * The result of running Dijkstra's algorithm outwards from a single source
+ * vertex: the shortest distance to, and the last edge on the shortest path to,
+ * every vertex of a CompactGraph.
+ *
+ * Both are stored in primitive arrays indexed by vertex id, so once the tree has
+ * been computed, any number of path queries from the same source can be answered
+ * without searching the graph again.
+ */
+public class ShortestPathTree<V, E extends Edge<V> & Comparable<E>> {
+    private final CompactGraph<V, E> graph;
+    private final int source;
+    private final double[] distances;
+    private final int[] parentEdges;
+
+    // Note: 'distances' and 'parentEdges' are owned by this tree from now on.
+    ShortestPathTree(CompactGraph<V, E> graph, int source, double[] distances, int[] parentEdges) {
+        this.graph = graph;
+        this.source = source;
+        this.distances = distances;
+        this.parentEdges = parentEdges;
+    }
+
+    /**
+     * Returns the vertex the tree was grown from.
+     */
+    public V getSource() {
+        return this.graph.getVertex(this.source);
+    }
+
+    /**
+     * Returns 'true' if there exists a path from the source to the given vertex,
+     * and 'false' otherwise.
+     *
+     * @throws IllegalArgumentException  if the vertex is not a part of the graph
+     */
+    public boolean hasPathTo(V vertex) {
+        return this.distances[this.graph.getId(vertex)] != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the total weight of the shortest path from the source to the given
+     * vertex, or positive infinity if there is no such path.
+     *
+     * @throws IllegalArgumentException  if the vertex is not a part of the graph
+     */
+    public double distanceTo(V vertex) {
+        return this.distances[this.graph.getId(vertex)];
+    }
+
+    /**
+     * Returns the edges that make up the shortest path from the source to the
+     * given vertex, in order. See Graph.findShortestPathBetween(start, end) for
+     * details on what the output list must contain.
+     *
+     * Runs in time proportional to the length of the path.
+     *
+     * @throws IllegalArgumentException  if the vertex is not a part of the graph
+     * @throws NoPathExistsException     if there does not exist a path from the source to the vertex
+     */
+    public IList<E> pathTo(V vertex) {
+        int current = this.graph.getId(vertex);
+        if (this.distances[current] == Double.POSITIVE_INFINITY) {
+            throw new NoPathExistsException();
+        }
+        IList<E> path = new DoubleLinkedList<>();
+        while (current != this.source) {
+            int edgeId = this.parentEdges[current];
+            path.insert(0, this.graph.getEdge(edgeId));
+            current = this.graph.getOtherEndpoint(edgeId, current);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,164 @@
+package datastructures;
+
+import datastructures.concrete.ArrayDisjointSet;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import misc.BaseTest;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestArrayDisjointSet extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testIdsMatchItems() {
+        ArrayDisjointSet<String> forest = new ArrayDisjointSet<>();
+        forest.makeSet("a");
+        assertEquals(1, forest.makeSet());
+        forest.makeSet("c");
+        assertEquals(2, forest.findSetById(2));
+
+        forest.unionById(0, 1);
+        assertEquals(forest.findSet("a"), forest.findSetById(1));
+        forest.union("c", "a");
+        assertEquals(forest.findSet("c"), forest.findSetById(1));
+        assertTrue(forest.findSetById(0) == forest.findSetById(2));
+
+        try {
+            forest.unionById(1, 2);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            forest.findSetById(3);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testMakeSetRejectsDuplicates() {
+        ArrayDisjointSet<String> forest = new ArrayDisjointSet<>();
+        forest.makeSet("a");
+        try {
+            forest.makeSet("a");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            forest.findSet("b");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=2*SECOND)
+    public void testLongUnionChains() {
+        int size = 200000;
+        ArrayDisjointSet<Integer> forest = new ArrayDisjointSet<>();
+        for (int i = 0; i < size; i++) {
+            forest.makeSet(i);
+        }
+        // Pair up neighbours, then pairs of pairs, and so on, always unioning
+        // through the most recently added element.
+        for (int step = 1; step < size; step *= 2) {
+            for (int i = 0; i + step < size; i += 2 * step) {
+                forest.union(i + step - 1, i + step);
+            }
+        }
+        int root = forest.findSet(0);
+        for (int i = 0; i < size; i++) {
+            assertEquals(root, forest.findSet(i));
+            assertEquals(root, forest.findSetById(i));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testListConstructorAndConnected() {
+        IList<String> items = new DoubleLinkedList<>();
+        items.add("a");
+        items.add("b");
+        items.add("c");
+        ArrayDisjointSet<String> forest = new ArrayDisjointSet<>(items);
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(i, forest.findSet(items.get(i)));
+        }
+
+        assertFalse(forest.connected("a", "c"));
+        forest.union("a", "b");
+        forest.union("b", "c");
+        assertTrue(forest.connected("a", "c"));
+        assertTrue(forest.connectedById(0, 2));
+
+        items.add("a");
+        try {
+            new ArrayDisjointSet<>(items);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testPreSizedGrowsPastCapacity() {
+        ArrayDisjointSet<Integer> forest = new ArrayDisjointSet<>(0);
+        for (int i = 0; i < 50; i++) {
+            forest.makeSet(i);
+        }
+        forest.union(0, 49);
+        assertTrue(forest.connected(49, 0));
+        assertEquals(17, forest.findSet(17));
+    }
+
+    @Test(timeout=SECOND)
+    public void testOfIdsStartsWithSingletons() {
+        ArrayDisjointSet<String> forest = ArrayDisjointSet.ofIds(5);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, forest.findSetById(i));
+        }
+        forest.unionById(0, 4);
+        assertTrue(forest.connectedById(4, 0));
+        assertFalse(forest.connectedById(1, 2));
+        try {
+            forest.findSet("a");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+
+        assertEquals(5, forest.makeSet());
+        forest.makeSet("a");
+        assertEquals(6, forest.findSet("a"));
+        try {
+            forest.makeSet("a");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testTryUnionReportsWhetherSetsMerged() {
+        ArrayDisjointSet<String> forest = new ArrayDisjointSet<>();
+        forest.makeSet("a");
+        forest.makeSet("b");
+        forest.makeSet("c");
+        assertTrue(forest.tryUnion("a", "b"));
+        assertFalse(forest.tryUnion("b", "a"));
+        assertFalse(forest.tryUnion("c", "c"));
+        assertTrue(forest.tryUnionById(2, 0));
+        assertFalse(forest.tryUnionById(1, 2));
+        assertTrue(forest.connected("a", "c"));
+        try {
+            forest.tryUnion("a", "d");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+}
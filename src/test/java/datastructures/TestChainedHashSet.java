@@ -385,4 +385,22 @@ public class TestChainedHashSet extends BaseTest {
             assertFalse(set.contains(i));
         }
     }
+
+    @Test(timeout=SECOND)
+    public void testForEach() {
+        ISet<Integer> set = new ChainedHashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            set.add(i);
+        }
+        set.remove(10);
+
+        boolean[] seen = new boolean[1000];
+        set.forEach(item -> {
+            assertFalse(seen[item]);
+            seen[item] = true;
+        });
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i != 10, seen[i]);
+        }
+    }
 }
@@ -0,0 +1,150 @@
+package datastructures;
+
+import datastructures.TestProvidedGraph.SimpleEdge;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import misc.BaseTest;
+import misc.exceptions.NoPathExistsException;
+import misc.graphs.CompactGraph;
+import misc.graphs.Graph;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestCompactGraph extends BaseTest {
+    private TestProvidedGraph provided = new TestProvidedGraph();
+
+    private Graph<Integer, SimpleEdge<Integer>> buildRandomGraph(int numVertices, int numEdges, long seed) {
+        Random rand = new Random(seed);
+        IList<Integer> vertices = new DoubleLinkedList<>();
+        IList<SimpleEdge<Integer>> edges = new DoubleLinkedList<>();
+        for (int i = 0; i < numVertices; i++) {
+            vertices.add(i);
+        }
+        for (int i = 1; i < numVertices; i++) {
+            edges.add(new SimpleEdge<>(i, rand.nextInt(i), rand.nextInt(50)));
+        }
+        for (int i = numVertices - 1; i < numEdges; i++) {
+            edges.add(new SimpleEdge<>(rand.nextInt(numVertices), rand.nextInt(numVertices), rand.nextInt(50)));
+        }
+        return new Graph<>(vertices, edges);
+    }
+
+    private static <V> double totalWeight(Iterable<SimpleEdge<V>> edges) {
+        double total = 0.0;
+        for (SimpleEdge<V> edge : edges) {
+            total += edge.getWeight();
+        }
+        return total;
+    }
+
+    @Test(timeout=SECOND)
+    public void testIdsFollowInsertionOrder() {
+        CompactGraph<String, SimpleEdge<String>> graph = this.provided.buildSimpleGraph().toCompactGraph();
+        assertEquals(6, graph.numVertices());
+        assertEquals(9, graph.numEdges());
+        assertEquals(0, graph.getId("a"));
+        assertEquals(5, graph.getId("f"));
+        assertEquals("c", graph.getVertex(2));
+        assertEquals(this.provided.edge("a", "b", 2), graph.getEdge(0));
+    }
+
+    @Test(timeout=SECOND)
+    public void testBuilderRejectsUnknownVertex() {
+        CompactGraph.Builder<String, SimpleEdge<String>> builder = new CompactGraph.Builder<>();
+        builder.addVertex("a").addVertex("b");
+        try {
+            builder.addEdge(this.provided.edge("a", "c", 1));
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testBuiltGraphIgnoresLaterAdditions() {
+        CompactGraph.Builder<String, SimpleEdge<String>> builder = new CompactGraph.Builder<>();
+        builder.addVertex("a").addVertex("b").addEdge(this.provided.edge("a", "b", 1));
+        CompactGraph<String, SimpleEdge<String>> graph = builder.build();
+
+        builder.addVertex("c").addEdge(this.provided.edge("b", "c", 1));
+        assertEquals(2, graph.numVertices());
+        assertEquals(1, graph.numEdges());
+        try {
+            graph.getId("c");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testShortestPathMatchesGraph() {
+        Graph<String, SimpleEdge<String>> graph = this.provided.buildComplexGraph();
+        CompactGraph<String, SimpleEdge<String>> compact = graph.toCompactGraph();
+        String[] names = {"a", "b", "c", "d", "e", "f", "g"};
+        for (String start : names) {
+            for (String end : names) {
+                assertEquals(
+                        totalWeight(graph.findShortestPathBetween(start, end)),
+                        totalWeight(compact.findShortestPathBetween(start, end)),
+                        0.0001);
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testShortestPathDisconnected() {
+        CompactGraph<String, SimpleEdge<String>> graph = this.provided.buildDisconnectedGraph().toCompactGraph();
+        assertEquals(2, totalWeight(graph.findShortestPathBetween("i", "k")), 0.0001);
+        try {
+            graph.findShortestPathBetween("a", "i");
+            fail("Expected NoPathExistsException");
+        } catch (NoPathExistsException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testMinimumSpanningTreeMatchesGraph() {
+        Graph<Integer, SimpleEdge<Integer>> graph = this.buildRandomGraph(2000, 6000, 373);
+        ISet<SimpleEdge<Integer>> expected = graph.findMinimumSpanningTree();
+        ISet<SimpleEdge<Integer>> actual = graph.toCompactGraph().findMinimumSpanningTree();
+        assertEquals(expected.size(), actual.size());
+        assertEquals(totalWeight(expected), totalWeight(actual), 0.0001);
+        assertTrue(actual.size() == graph.numVertices() - 1);
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testParallelBoruvkaMatchesKruskal() {
+        Graph<Integer, SimpleEdge<Integer>> graph = this.buildRandomGraph(20000, 60000, 7);
+        CompactGraph<Integer, SimpleEdge<Integer>> compact = graph.toCompactGraph();
+        ISet<SimpleEdge<Integer>> expected = compact.findMinimumSpanningTree();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ISet<SimpleEdge<Integer>> actual = compact.findMinimumSpanningTreeInParallel(pool);
+            assertEquals(graph.numVertices() - 1, actual.size());
+            assertEquals(totalWeight(expected), totalWeight(actual), 0.0001);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testBoruvkaStrategyOnSimpleGraph() {
+        Graph<String, SimpleEdge<String>> graph = this.provided.buildSimpleGraph();
+        ISet<SimpleEdge<String>> mst = graph.findMinimumSpanningTree(Graph.MstStrategy.BORUVKA);
+
+        assertEquals(graph.numVertices() - 1, mst.size());
+        assertTrue(mst.contains(this.provided.edge("a", "d", 1)));
+        assertTrue(mst.contains(this.provided.edge("a", "b", 2)));
+        assertTrue(mst.contains(this.provided.edge("b", "e", 3)));
+        assertTrue(mst.contains(this.provided.edge("a", "c", 5)));
+        assertTrue(mst.contains(this.provided.edge("d", "f", 6)));
+    }
+}
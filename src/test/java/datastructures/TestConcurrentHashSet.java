@@ -0,0 +1,65 @@
+package datastructures;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import datastructures.concrete.ConcurrentHashSet;
+import misc.BaseTest;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestConcurrentHashSet extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testAddRemoveBasic() {
+        ConcurrentHashSet<String> set = new ConcurrentHashSet<>();
+        set.add("a");
+        set.add("b");
+        set.add("a");
+        assertEquals(2, set.size());
+        assertTrue(set.contains("a"));
+
+        set.remove("a");
+        assertFalse(set.contains("a"));
+        try {
+            set.remove("a");
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testConcurrentRemoveHasOneWinner() throws InterruptedException {
+        int numItems = 20000;
+        ConcurrentHashSet<Integer> set = new ConcurrentHashSet<>(numItems);
+        for (int i = 0; i < numItems; i++) {
+            assertTrue(set.addIfAbsent(i));
+        }
+
+        AtomicInteger removed = new AtomicInteger(0);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < numItems; i++) {
+                    try {
+                        set.remove(i);
+                        removed.incrementAndGet();
+                    } catch (NoSuchElementException ex) {
+                        // somebody else got there first
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(numItems, removed.get());
+        assertTrue(set.isEmpty());
+        assertFalse(set.iterator().hasNext());
+    }
+}
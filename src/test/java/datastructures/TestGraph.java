@@ -0,0 +1,510 @@
+package datastructures;
+
+import datastructures.TestProvidedGraph.SimpleEdge;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.dictionaries.DictionaryFactory;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import mazes.entities.Maze;
+import mazes.entities.Room;
+import mazes.entities.RoomHeuristic;
+import mazes.entities.Wall;
+import mazes.generators.base.GridGenerator;
+import misc.BaseTest;
+import misc.exceptions.NoPathExistsException;
+import misc.graphs.Graph;
+import misc.graphs.Graph.PathSearch;
+import misc.graphs.Graph.SearchStats;
+import misc.graphs.Heuristic;
+import misc.graphs.ShortestPathTree;
+import org.junit.Test;
+
+import java.awt.*;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestGraph extends BaseTest {
+    private <V> SimpleEdge<V> edge(V v1, V v2, double weight) {
+        return new SimpleEdge<>(v1, v2, weight);
+    }
+
+    @SafeVarargs
+    private static <V> SimpleEdge<V>[] edgeArray(SimpleEdge<V>... edges) {
+        return edges;
+    }
+
+    private Graph<Integer, SimpleEdge<Integer>> buildLadderGraph(int rungs) {
+        IList<Integer> vertices = new DoubleLinkedList<>();
+        IList<SimpleEdge<Integer>> edges = new DoubleLinkedList<>();
+        for (int i = 0; i < 2 * rungs; i++) {
+            vertices.add(i);
+        }
+        for (int i = 0; i < rungs; i++) {
+            edges.add(edge(2 * i, 2 * i + 1, 1));
+            if (i + 1 < rungs) {
+                edges.add(edge(2 * i, 2 * i + 2, 1));
+                edges.add(edge(2 * i + 1, 2 * i + 3, 1));
+            }
+        }
+        return new Graph<>(vertices, edges);
+    }
+
+    private Graph<Integer, SimpleEdge<Integer>> buildRandomGraph(int numVertices, int numEdges, long seed) {
+        Random rand = new Random(seed);
+        IList<Integer> vertices = new DoubleLinkedList<>();
+        IList<SimpleEdge<Integer>> edges = new DoubleLinkedList<>();
+        for (int i = 0; i < numVertices; i++) {
+            vertices.add(i);
+        }
+        for (int i = 0; i < numEdges; i++) {
+            edges.add(edge(rand.nextInt(numVertices), rand.nextInt(numVertices), rand.nextInt(20)));
+        }
+        return new Graph<>(vertices, edges);
+    }
+
+    // Checks that the path is a connected walk from start to end, and returns its cost.
+    private double checkPathConnects(IList<SimpleEdge<Integer>> path, int start, int end) {
+        double cost = 0.0;
+        int current = start;
+        for (SimpleEdge<Integer> step : path) {
+            cost += step.getWeight();
+            current = step.getOtherVertex(current);
+        }
+        assertEquals(end, current);
+        return cost;
+    }
+
+    @Test(timeout=SECOND)
+    public void testDuplicateVerticesAreAddedOnce() {
+        IList<String> vertices = new DoubleLinkedList<>();
+        vertices.add("a");
+        vertices.add("b");
+        vertices.add("a");
+        vertices.add("c");
+        vertices.add("b");
+        IList<SimpleEdge<String>> edges = new DoubleLinkedList<>();
+        edges.add(edge("a", "b", 1));
+        edges.add(edge("b", "c", 2));
+        edges.add(edge("a", "c", 4));
+        Graph<String, SimpleEdge<String>> graph = new Graph<>(vertices, edges);
+        assertEquals(3, graph.numVertices());
+
+        for (Graph.MstStrategy strategy : Graph.MstStrategy.values()) {
+            ISet<SimpleEdge<String>> tree = graph.findMinimumSpanningTree(strategy);
+            assertEquals(2, tree.size());
+            assertFalse(tree.contains(edges.get(2)));
+        }
+        assertEquals(2, graph.findShortestPathBetween("a", "c").size());
+        assertEquals(3.0, graph.findShortestPathTree("a").distanceTo("c"), 0.0001);
+    }
+
+    @Test(timeout=SECOND)
+    public void testShortestPathFromIsolatedVertex() {
+        IList<String> vertices = new DoubleLinkedList<>();
+        vertices.add("a");
+        vertices.add("b");
+        vertices.add("c");
+
+        IList<SimpleEdge<String>> edges = new DoubleLinkedList<>();
+        edges.add(edge("a", "b", 1));
+
+        Graph<String, SimpleEdge<String>> graph = new Graph<>(vertices, edges);
+        try {
+            graph.findShortestPathBetween("c", "a");
+            fail("Expected NoPathExistsException");
+        } catch (NoPathExistsException ex) {
+            // All ok -- expected result
+        }
+        try {
+            graph.findShortestPathBetween("a", "c");
+            fail("Expected NoPathExistsException");
+        } catch (NoPathExistsException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testShortestPathOnLadder() {
+        int rungs = 2000;
+        Graph<Integer, SimpleEdge<Integer>> graph = this.buildLadderGraph(rungs);
+
+        IList<SimpleEdge<Integer>> path = graph.findShortestPathBetween(0, 2 * rungs - 1);
+        assertEquals(rungs, path.size());
+        assertEquals(rungs, this.checkPathConnects(path, 0, 2 * rungs - 1), 0.0001);
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testBidirectionalMatchesUnidirectional() {
+        int numVertices = 300;
+        Graph<Integer, SimpleEdge<Integer>> graph = this.buildRandomGraph(numVertices, 600, 373);
+        Random rand = new Random(0);
+        for (int i = 0; i < 200; i++) {
+            int start = rand.nextInt(numVertices);
+            int end = rand.nextInt(numVertices);
+
+            IList<SimpleEdge<Integer>> expected;
+            try {
+                expected = graph.findShortestPathBetween(start, end, PathSearch.UNIDIRECTIONAL);
+            } catch (NoPathExistsException ex) {
+                try {
+                    graph.findShortestPathBetween(start, end, PathSearch.BIDIRECTIONAL);
+                    fail("Expected NoPathExistsException");
+                } catch (NoPathExistsException ex2) {
+                    // All ok -- expected result
+                }
+                continue;
+            }
+            IList<SimpleEdge<Integer>> actual = graph.findShortestPathBetween(start, end, PathSearch.BIDIRECTIONAL);
+            assertEquals(
+                    this.checkPathConnects(expected, start, end),
+                    this.checkPathConnects(actual, start, end),
+                    0.0001);
+        }
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testSearchStopsOnceEndIsSettled() {
+        int rungs = 2000;
+        Graph<Integer, SimpleEdge<Integer>> graph = this.buildLadderGraph(rungs);
+
+        SearchStats stats = new SearchStats();
+        graph.findShortestPathBetween(0, 5, PathSearch.UNIDIRECTIONAL, stats);
+        assertTrue(stats.getSettledCount() < 20);
+
+        SearchStats bidirectional = new SearchStats();
+        graph.findShortestPathBetween(0, 2 * rungs - 1, PathSearch.BIDIRECTIONAL, bidirectional);
+        graph.findShortestPathBetween(0, 2 * rungs - 1, PathSearch.UNIDIRECTIONAL, stats);
+        assertTrue(bidirectional.getSettledCount() <= stats.getSettledCount());
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testAStarOnGridMaze() {
+        Maze maze = new GridGenerator(30, 30).generateBaseMaze(new Rectangle(0, 0, 600, 600));
+        Graph<Room, Wall> graph = new Graph<>(maze.getRooms(), maze.getWalls());
+        Room start = maze.getRoom(new Point(5, 5));
+        Room end = maze.getRoom(new Point(300, 595));
+
+        SearchStats stats = new SearchStats();
+        double expected = this.pathCost(
+                graph.findShortestPathBetween(start, end, PathSearch.UNIDIRECTIONAL, stats));
+        int dijkstraSettled = stats.getSettledCount();
+
+        for (RoomHeuristic heuristic : RoomHeuristic.values()) {
+            IList<Wall> path = graph.findShortestPathBetween(start, end, heuristic, stats);
+            assertEquals(expected, this.pathCost(path), 0.0001);
+            assertTrue(stats.getSettledCount() <= dijkstraSettled);
+        }
+
+        graph.findShortestPathBetween(start, end, RoomHeuristic.MANHATTAN, stats);
+        assertTrue(stats.getSettledCount() < dijkstraSettled / 2);
+    }
+
+    private double pathCost(IList<Wall> path) {
+        double cost = 0.0;
+        for (Wall wall : path) {
+            cost += wall.getDistance();
+        }
+        return cost;
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testLargeGraphConstruction() {
+        Maze maze = new GridGenerator(100, 100).generateBaseMaze(new Rectangle(0, 0, 1000, 1000));
+        Graph<Room, Wall> graph = new Graph<>(maze.getRooms(), maze.getWalls());
+        assertEquals(100 * 100, graph.numVertices());
+        assertEquals(2 * 100 * 99, graph.numEdges());
+    }
+
+    @Test(timeout=SECOND)
+    public void testTrustedArraysMatchValidatedGraph() {
+        String[] vertices = {"a", "b", "c", "d"};
+        SimpleEdge<String>[] edges = edgeArray(
+                edge("a", "b", 1), edge("b", "c", 1), edge("a", "c", 5), edge("c", "d", 2));
+        Graph<String, SimpleEdge<String>> graph = Graph.fromTrustedArrays(vertices, edges);
+        assertEquals(4, graph.numVertices());
+        assertEquals(4, graph.numEdges());
+        assertEquals(2, graph.findShortestPathBetween("a", "c").size());
+        assertEquals(3, graph.findMinimumSpanningTree().size());
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testShortestPathTreeMatchesSearch() {
+        int numVertices = 300;
+        Graph<Integer, SimpleEdge<Integer>> graph = this.buildRandomGraph(numVertices, 450, 42);
+        ShortestPathTree<Integer, SimpleEdge<Integer>> tree = graph.findShortestPathTree(0);
+        assertEquals(0, tree.getSource());
+        assertEquals(0, tree.pathTo(0).size());
+
+        for (int v = 0; v < numVertices; v++) {
+            IList<SimpleEdge<Integer>> expected;
+            try {
+                expected = graph.findShortestPathBetween(0, v);
+            } catch (NoPathExistsException ex) {
+                assertFalse(tree.hasPathTo(v));
+                assertEquals(Double.POSITIVE_INFINITY, tree.distanceTo(v), 0.0);
+                try {
+                    tree.pathTo(v);
+                    fail("Expected NoPathExistsException");
+                } catch (NoPathExistsException ex2) {
+                    // All ok -- expected result
+                }
+                continue;
+            }
+            assertTrue(tree.hasPathTo(v));
+            double cost = this.checkPathConnects(expected, 0, v);
+            assertEquals(cost, tree.distanceTo(v), 0.0001);
+            assertEquals(cost, this.checkPathConnects(tree.pathTo(v), 0, v), 0.0001);
+        }
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testPrimMatchesKruskal() {
+        Graph<Integer, SimpleEdge<Integer>> graph = this.buildRandomGraph(3000, 9000, 11);
+        ISet<SimpleEdge<Integer>> expected = graph.findMinimumSpanningTree(Graph.MstStrategy.KRUSKAL);
+        ISet<SimpleEdge<Integer>> actual = graph.findMinimumSpanningTree(Graph.MstStrategy.PRIM);
+        assertEquals(expected.size(), actual.size());
+
+        double expectedWeight = 0.0;
+        for (SimpleEdge<Integer> edge : expected) {
+            expectedWeight += edge.getWeight();
+        }
+        double actualWeight = 0.0;
+        for (SimpleEdge<Integer> edge : actual) {
+            actualWeight += edge.getWeight();
+        }
+        assertEquals(expectedWeight, actualWeight, 0.0001);
+    }
+
+    @Test(timeout=SECOND)
+    public void testMinimumSpanningTreeIteratorYieldsEdgesInOrder() {
+        Graph<String, SimpleEdge<String>> graph = new TestProvidedGraph().buildSimpleGraph();
+        ISet<SimpleEdge<String>> expected = graph.findMinimumSpanningTree();
+
+        Iterator<SimpleEdge<String>> iter = graph.minimumSpanningTreeIterator();
+        double previous = Double.NEGATIVE_INFINITY;
+        int count = 0;
+        while (iter.hasNext()) {
+            SimpleEdge<String> edge = iter.next();
+            assertTrue(expected.contains(edge));
+            assertTrue(edge.getWeight() >= previous);
+            previous = edge.getWeight();
+            count++;
+        }
+        assertEquals(expected.size(), count);
+        assertFalse(iter.hasNext());
+        try {
+            iter.next();
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testDenseIdGraphMatchesHashedGraph() {
+        Maze maze = new GridGenerator(30, 30).generateBaseMaze(new Rectangle(0, 0, 600, 600));
+        Graph<Room, Wall> hashed = new Graph<>(maze.getRooms(), maze.getWalls());
+        Graph<Room, Wall> byId = maze.toGraph();
+        assertEquals(hashed.numVertices(), byId.numVertices());
+        assertEquals(hashed.numEdges(), byId.numEdges());
+
+        Room start = maze.getRoom(new Point(5, 5));
+        Room end = maze.getRoom(new Point(595, 595));
+        double expected = this.pathCost(hashed.findShortestPathBetween(start, end));
+        assertEquals(expected, this.pathCost(byId.findShortestPathBetween(start, end)), 0.0001);
+        assertEquals(expected, this.pathCost(
+                byId.findShortestPathBetween(start, end, PathSearch.BIDIRECTIONAL)), 0.0001);
+        assertEquals(expected, this.pathCost(
+                byId.findShortestPathBetween(start, end, RoomHeuristic.MANHATTAN)), 0.0001);
+
+        for (Graph.MstStrategy strategy : Graph.MstStrategy.values()) {
+            ISet<Wall> tree = byId.findMinimumSpanningTree(strategy);
+            assertEquals(byId.numVertices() - 1, tree.size());
+            assertEquals(this.setCost(hashed.findMinimumSpanningTree(strategy)), this.setCost(tree), 0.0001);
+        }
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testEveryDictionaryKindGivesSameAnswers() {
+        Maze maze = new GridGenerator(20, 20).generateBaseMaze(new Rectangle(0, 0, 400, 400));
+        Room start = maze.getRoom(new Point(5, 5));
+        Room end = maze.getRoom(new Point(395, 205));
+        Graph<Room, Wall> reference = new Graph<>(maze.getRooms(), maze.getWalls());
+        double pathCost = this.pathCost(reference.findShortestPathBetween(start, end));
+        double treeCost = this.setCost(reference.findMinimumSpanningTree());
+
+        for (DictionaryFactory kind : DictionaryFactory.values()) {
+            Graph<Room, Wall> graph = new Graph<>(maze.getRooms(), maze.getWalls(), kind);
+            assertEquals(pathCost, this.pathCost(graph.findShortestPathBetween(start, end)), 0.0001);
+            for (Graph.MstStrategy strategy : Graph.MstStrategy.values()) {
+                assertEquals(treeCost, this.setCost(graph.findMinimumSpanningTree(strategy)), 0.0001);
+            }
+        }
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testShortDenseIdSearchesMatchHashedGraph() {
+        // searches between nearby rooms settle too few rooms for their tables to
+        // outgrow the id dictionary; the corner-to-corner ones don't
+        Maze maze = new GridGenerator(30, 30).generateBaseMaze(new Rectangle(0, 0, 600, 600));
+        Graph<Room, Wall> hashed = new Graph<>(maze.getRooms(), maze.getWalls());
+        Graph<Room, Wall> byId = maze.toGraph();
+        Random rand = new Random(2);
+        for (int i = 0; i < 50; i++) {
+            int x = 30 + rand.nextInt(540);
+            int y = 30 + rand.nextInt(540);
+            Room start = maze.getRoom(new Point(x, y));
+            Room end = maze.getRoom(new Point(x + rand.nextInt(61) - 30, y + rand.nextInt(61) - 30));
+            double expected = this.pathCost(hashed.findShortestPathBetween(start, end));
+            for (PathSearch mode : PathSearch.values()) {
+                assertEquals(expected, this.pathCost(byId.findShortestPathBetween(start, end, mode)), 0.0001);
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testDenseIdGraphIgnoresIdsOfForeignVertices() {
+        Maze maze = new GridGenerator(4, 4).generateBaseMaze(new Rectangle(0, 0, 400, 400));
+        Maze other = new GridGenerator(4, 4).generateBaseMaze(new Rectangle(1000, 1000, 400, 400));
+        Graph<Room, Wall> byId = maze.toGraph();
+        Room end = maze.getRoom(new Point(350, 350));
+        Room foreign = other.getRoom(new Point(1050, 1050));
+        assertTrue(foreign.getId() >= 0 && foreign.getId() < byId.numVertices());
+
+        for (PathSearch mode : PathSearch.values()) {
+            try {
+                byId.findShortestPathBetween(foreign, end, mode);
+                fail("Expected NoPathExistsException");
+            } catch (NoPathExistsException ex) {
+                // All ok -- expected result
+            }
+        }
+        try {
+            byId.findShortestPathTree(foreign);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testDenseIdGraphFindsEqualVerticesWithoutIds() {
+        Maze maze = new GridGenerator(4, 4).generateBaseMaze(new Rectangle(0, 0, 400, 400));
+        Graph<Room, Wall> hashed = new Graph<>(maze.getRooms(), maze.getWalls());
+        Graph<Room, Wall> byId = maze.toGraph();
+        Room start = maze.getRoom(new Point(50, 50));
+        Room end = maze.getRoom(new Point(350, 350));
+        Room startCopy = new Room(start.getCenter(), start.getPolygon());
+        Room endCopy = new Room(end.getCenter(), end.getPolygon());
+        assertEquals(-1, startCopy.getId());
+
+        double expected = this.pathCost(hashed.findShortestPathBetween(startCopy, endCopy));
+        for (PathSearch mode : PathSearch.values()) {
+            assertEquals(expected, this.pathCost(byId.findShortestPathBetween(startCopy, end, mode)), 0.0001);
+            assertEquals(expected, this.pathCost(byId.findShortestPathBetween(start, endCopy, mode)), 0.0001);
+        }
+        assertEquals(expected, byId.findShortestPathTree(startCopy).distanceTo(endCopy), 0.0001);
+    }
+
+    private double setCost(ISet<Wall> walls) {
+        double cost = 0.0;
+        for (Wall wall : walls) {
+            cost += wall.getDistance();
+        }
+        return cost;
+    }
+
+    @Test(timeout=SECOND)
+    public void testDenseIdsMustMatchPositions() {
+        Integer[] vertices = {0, 2, 1};
+        SimpleEdge<Integer>[] edges = edgeArray(edge(0, 1, 1));
+        try {
+            Graph.fromTrustedArrays(vertices, edges, Integer::intValue);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testFractionalHeuristicOnIntegerWeights() {
+        // whole-number weights let the search start out with buckets, until the
+        // heuristic's fractional estimates force it over to a heap. Adding the
+        // same constant to every vertex but the start doesn't change which path
+        // is shortest.
+        Graph<Integer, SimpleEdge<Integer>> graph = this.buildRandomGraph(2000, 6000, 5);
+        Heuristic<Integer> fractional = (vertex, goal) -> vertex == 0 ? 0.0 : 0.5;
+        for (int end = 1; end < 2000; end += 97) {
+            double expected;
+            try {
+                expected = this.checkPathConnects(graph.findShortestPathBetween(0, end), 0, end);
+            } catch (NoPathExistsException ex) {
+                continue;
+            }
+            SearchStats stats = new SearchStats();
+            IList<SimpleEdge<Integer>> path = graph.findShortestPathBetween(0, end, fractional, stats);
+            assertEquals(expected, this.checkPathConnects(path, 0, end), 0.0001);
+            assertFalse(stats.usedBucketQueue());
+        }
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testNearlyEqualWeightsStayOnBuckets() {
+        // every weight is 26 or 27, so each key a search queues is just above
+        // the one it last removed; none of them should push it off the buckets
+        int side = 40;
+        Random rand = new Random(26);
+        IList<Integer> vertices = new DoubleLinkedList<>();
+        IList<SimpleEdge<Integer>> edges = new DoubleLinkedList<>();
+        for (int i = 0; i < side * side; i++) {
+            vertices.add(i);
+            if (i % side != 0) {
+                edges.add(edge(i - 1, i, 26 + rand.nextInt(2)));
+            }
+            if (i >= side) {
+                edges.add(edge(i - side, i, 26 + rand.nextInt(2)));
+            }
+        }
+        Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(vertices, edges);
+        ShortestPathTree<Integer, SimpleEdge<Integer>> tree = graph.findShortestPathTree(0);
+        SearchStats stats = new SearchStats();
+        for (int end = 1; end < side * side; end += 37) {
+            for (PathSearch mode : PathSearch.values()) {
+                IList<SimpleEdge<Integer>> path = graph.findShortestPathBetween(0, end, mode, stats);
+                assertEquals(tree.distanceTo(end), this.checkPathConnects(path, 0, end), 0.0001);
+                assertTrue(stats.usedBucketQueue());
+            }
+        }
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testCompactCopyIsReusedAndMatchesDenseIds() {
+        Maze maze = new GridGenerator(20, 20).generateBaseMaze(new Rectangle(0, 0, 400, 400));
+        Graph<Room, Wall> hashed = new Graph<>(maze.getRooms(), maze.getWalls());
+        Graph<Room, Wall> byId = maze.toGraph();
+        assertTrue(hashed.toCompactGraph() == hashed.toCompactGraph());
+        assertTrue(byId.toCompactGraph() == byId.toCompactGraph());
+
+        Room source = maze.getRoom(new Point(5, 5));
+        ShortestPathTree<Room, Wall> expected = hashed.findShortestPathTree(source);
+        ShortestPathTree<Room, Wall> actual = byId.findShortestPathTree(source);
+        for (Room room : maze.getRooms()) {
+            assertEquals(expected.distanceTo(room), actual.distanceTo(room), 0.0001);
+        }
+        assertEquals(this.setCost(hashed.findMinimumSpanningTree(Graph.MstStrategy.BORUVKA)),
+                this.setCost(byId.findMinimumSpanningTree(Graph.MstStrategy.BORUVKA)), 0.0001);
+
+        try {
+            byId.findShortestPathTree(new GridGenerator(2, 2)
+                    .generateBaseMaze(new Rectangle(0, 0, 400, 400)).getRoom(new Point(399, 399)));
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+}
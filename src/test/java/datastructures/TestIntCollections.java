@@ -0,0 +1,132 @@
+package datastructures;
+
+import datastructures.concrete.IntHeap;
+import datastructures.concrete.IntIntDictionary;
+import datastructures.concrete.IntList;
+import datastructures.concrete.IntSet;
+import misc.BaseTest;
+import misc.exceptions.EmptyContainerException;
+import misc.exceptions.NoSuchKeyException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestIntCollections extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testIntListBasic() {
+        IntList list = new IntList(1);
+        for (int i = 0; i < 100; i++) {
+            list.add(i * 3);
+        }
+        assertEquals(100, list.size());
+        assertEquals(27, list.get(9));
+        list.set(9, -1);
+        assertEquals(-1, list.get(9));
+        assertEquals(297, list.removeLast());
+        assertEquals(99, list.toArray().length);
+
+        try {
+            list.get(99);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException ex) {
+            // All ok -- expected result
+        }
+        try {
+            new IntList().removeLast();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testIntIntDictionaryMatchesHashMap() {
+        Random rand = new Random(7);
+        IntIntDictionary dict = new IntIntDictionary();
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            int key = rand.nextInt(500) - 250;
+            if (rand.nextInt(3) == 0 && expected.containsKey(key)) {
+                assertEquals((int) expected.remove(key), dict.remove(key));
+            } else {
+                expected.put(key, i);
+                dict.put(key, i);
+            }
+            assertEquals(expected.size(), dict.size());
+        }
+        for (int key = -250; key < 250; key++) {
+            assertEquals(expected.containsKey(key), dict.containsKey(key));
+            assertEquals((int) expected.getOrDefault(key, -1), dict.getOrDefault(key, -1));
+        }
+
+        try {
+            new IntIntDictionary().get(0);
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testIntSetBasic() {
+        IntSet set = new IntSet(10);
+        set.add(3);
+        set.add(3);
+        set.add(Integer.MIN_VALUE);
+        assertEquals(2, set.size());
+        assertTrue(set.contains(Integer.MIN_VALUE));
+        set.remove(3);
+        assertFalse(set.contains(3));
+        try {
+            set.remove(3);
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testIntHeapSortsById() {
+        Random rand = new Random(12);
+        double[] weights = new double[1000];
+        int[] ids = new int[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = rand.nextDouble();
+            ids[i] = i;
+        }
+        IntHeap heap = new IntHeap(ids, (a, b) -> Double.compare(weights[a], weights[b]));
+        double previous = Double.NEGATIVE_INFINITY;
+        while (!heap.isEmpty()) {
+            double weight = weights[heap.removeMin()];
+            assertTrue(previous <= weight);
+            previous = weight;
+        }
+
+        IntHeap byValue = new IntHeap();
+        int[] values = {5, -2, 9, 0, 5, 1};
+        for (int value : values) {
+            byValue.insert(value);
+        }
+        int[] sorted = new int[values.length];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = byValue.removeMin();
+        }
+        Arrays.sort(values);
+        assertArrayEquals(values, sorted);
+        try {
+            byValue.peekMin();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // All ok -- expected result
+        }
+    }
+}
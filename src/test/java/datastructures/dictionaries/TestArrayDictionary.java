@@ -2,9 +2,33 @@ package datastructures.dictionaries;
 
 import datastructures.concrete.dictionaries.ArrayDictionary;
 import datastructures.interfaces.IDictionary;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class TestArrayDictionary extends TestDictionary {
     protected <K, V> IDictionary<K, V> newDictionary() {
         return new ArrayDictionary<>();
     }
+
+    @Test(timeout=SECOND)
+    public void testDrainAndRefill() {
+        IDictionary<Integer, Integer> dict = this.newDictionary();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 50; i++) {
+                dict.put(i, i + round);
+            }
+            // remove from the front so every removal has to fill a hole
+            for (int i = 0; i < 50; i++) {
+                assertEquals(i + round, dict.remove(i));
+                assertFalse(dict.containsKey(i));
+                if (i < 49) {
+                    assertTrue(dict.containsKey(49));
+                }
+            }
+            assertTrue(dict.isEmpty());
+            assertFalse(dict.iterator().hasNext());
+        }
+    }
 }
@@ -6,6 +6,7 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class TestChainedHashDictionary extends TestDictionary {
     protected <K, V> IDictionary<K, V> newDictionary() {
@@ -88,4 +89,39 @@ public class TestChainedHashDictionary extends TestDictionary {
             dict.remove(i);
         }
     }
+
+    @Test(timeout=SECOND)
+    public void testMinValueHashCode() {
+        IDictionary<Wrapper<String>, String> dict = this.newDictionary();
+
+        Wrapper<String> key1 = new Wrapper<>("foo", Integer.MIN_VALUE);
+        Wrapper<String> key2 = new Wrapper<>("bar", Integer.MAX_VALUE);
+
+        dict.put(key1, "val1");
+        dict.put(key2, "val2");
+
+        assertEquals("val1", dict.get(key1));
+        assertEquals("val2", dict.get(key2));
+        assertEquals("val1", dict.remove(key1));
+        assertFalse(dict.containsKey(key1));
+    }
+
+    @Test(timeout=SECOND)
+    public void testPreSizedDictionary() {
+        IDictionary<Integer, Integer> dict = new ChainedHashDictionary<>(1000);
+        for (int i = 0; i < 5000; i++) {
+            dict.put(i, -i);
+        }
+        assertEquals(5000, dict.size());
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(-i, dict.get(i));
+        }
+
+        try {
+            new ChainedHashDictionary<Integer, Integer>(-1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
 }
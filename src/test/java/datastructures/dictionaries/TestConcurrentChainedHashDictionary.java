@@ -0,0 +1,160 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.KVPair;
+import datastructures.concrete.dictionaries.ConcurrentChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestConcurrentChainedHashDictionary extends TestDictionary {
+    private static final int NUM_THREADS = 8;
+
+    protected <K, V> IDictionary<K, V> newDictionary() {
+        return new ConcurrentChainedHashDictionary<>();
+    }
+
+    // Starts every task at once, waits for all of them, and rethrows the first failure.
+    private static void runConcurrently(Runnable[] tasks) {
+        Thread[] threads = new Thread[tasks.length];
+        Throwable[] failure = new Throwable[1];
+        for (int i = 0; i < tasks.length; i++) {
+            threads[i] = new Thread(tasks[i]);
+            threads[i].setUncaughtExceptionHandler((thread, ex) -> {
+                synchronized (failure) {
+                    if (failure[0] == null) {
+                        failure[0] = ex;
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException ex) {
+            throw new RuntimeException(ex);
+        }
+        if (failure[0] != null) {
+            throw new AssertionError(failure[0]);
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testConcurrentPutGetRemove() {
+        ConcurrentChainedHashDictionary<Integer, Integer> dict = new ConcurrentChainedHashDictionary<>();
+        int perThread = 20000;
+
+        Runnable[] tasks = new Runnable[NUM_THREADS];
+        for (int t = 0; t < NUM_THREADS; t++) {
+            int base = t * perThread;
+            tasks[t] = () -> {
+                for (int i = base; i < base + perThread; i++) {
+                    dict.put(i, i);
+                }
+                for (int i = base; i < base + perThread; i++) {
+                    if (dict.get(i) != i) {
+                        throw new AssertionError("Wrong value for " + i);
+                    }
+                }
+                // throw away the odd keys again
+                for (int i = base + 1; i < base + perThread; i += 2) {
+                    dict.remove(i);
+                }
+            };
+        }
+        runConcurrently(tasks);
+
+        assertEquals(NUM_THREADS * perThread / 2, dict.size());
+        int count = 0;
+        for (KVPair<Integer, Integer> pair : dict) {
+            assertEquals(0, pair.getKey() % 2);
+            assertEquals(pair.getKey(), pair.getValue());
+            count++;
+        }
+        assertEquals(NUM_THREADS * perThread / 2, count);
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testConcurrentPutIfAbsentOnSameKeys() {
+        ConcurrentChainedHashDictionary<Integer, Integer> dict = new ConcurrentChainedHashDictionary<>();
+        AtomicInteger wins = new AtomicInteger(0);
+        int numKeys = 5000;
+
+        // every thread fights over the same small set of keys
+        Runnable[] tasks = new Runnable[NUM_THREADS];
+        for (int t = 0; t < NUM_THREADS; t++) {
+            int id = t;
+            tasks[t] = () -> {
+                for (int i = 0; i < numKeys; i++) {
+                    if (dict.putIfAbsent(i, id)) {
+                        wins.incrementAndGet();
+                    }
+                    dict.containsKey(i);
+                }
+            };
+        }
+        runConcurrently(tasks);
+
+        assertEquals(numKeys, wins.get());
+        assertEquals(numKeys, dict.size());
+        for (int i = 0; i < numKeys; i++) {
+            int owner = dict.get(i);
+            assertTrue(0 <= owner && owner < NUM_THREADS);
+        }
+        assertFalse(dict.putIfAbsent(0, -1));
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testIterateWhileWriting() {
+        ConcurrentChainedHashDictionary<Integer, Integer> dict = new ConcurrentChainedHashDictionary<>();
+        int numKeys = 10000;
+        for (int i = 0; i < numKeys; i++) {
+            dict.put(i, i);
+        }
+
+        Runnable[] tasks = new Runnable[NUM_THREADS];
+        for (int t = 0; t < NUM_THREADS; t++) {
+            if (t % 2 == 0) {
+                // writers churn keys that are never part of the original range
+                int base = numKeys * (t + 1);
+                tasks[t] = () -> {
+                    for (int i = base; i < base + numKeys; i++) {
+                        dict.put(i, i);
+                        dict.remove(i);
+                    }
+                };
+            } else {
+                // readers must always see every original key exactly once
+                tasks[t] = () -> {
+                    for (int round = 0; round < 5; round++) {
+                        boolean[] seen = new boolean[numKeys];
+                        int count = 0;
+                        for (KVPair<Integer, Integer> pair : dict) {
+                            int key = pair.getKey();
+                            if (key < numKeys) {
+                                if (seen[key]) {
+                                    throw new AssertionError("Saw " + key + " twice");
+                                }
+                                seen[key] = true;
+                                count++;
+                            }
+                        }
+                        if (count != numKeys) {
+                            throw new AssertionError("Saw " + count + " original keys");
+                        }
+                    }
+                };
+            }
+        }
+        runConcurrently(tasks);
+
+        assertEquals(numKeys, dict.size());
+    }
+}
@@ -11,6 +11,7 @@ import misc.exceptions.NoSuchKeyException;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -354,6 +355,42 @@ public abstract class TestDictionary extends BaseTest {
         assertTrue(copy.isEmpty());
     }
 
+    @Test(timeout=SECOND)
+    public void testForEach() {
+        IDictionary<String, Integer> dict = this.newDictionary();
+        IDictionary<String, Integer> copy = this.newDictionary();
+        for (int i = 0; i < 1000; i++) {
+            dict.put("" + i, i);
+            copy.put("" + i, i);
+        }
+        dict.remove("500");
+        copy.remove("500");
+
+        dict.forEach((key, value) -> {
+            assertEquals(copy.get(key), value);
+            copy.remove(key);
+        });
+        assertTrue(copy.isEmpty());
+
+        List<String> keys = new ArrayList<>();
+        dict.forEachKey(keys::add);
+        assertEquals(999, keys.size());
+        for (String key : keys) {
+            assertTrue(dict.containsKey(key));
+        }
+        assertEquals(999, new HashSet<>(keys).size());
+
+        IDictionary<String, Integer> small = this.newDictionary();
+        small.put(null, 1);
+        small.put("a", 2);
+        small.remove(null);
+        small.put("b", 3);
+        List<String> smallKeys = new ArrayList<>();
+        small.forEachKey(smallKeys::add);
+        assertEquals(2, smallKeys.size());
+        assertTrue(smallKeys.contains("a") && smallKeys.contains("b"));
+    }
+
     @Test(timeout=SECOND)
     public void testIteratorUnusualKeys() {
         IDictionary<String, String> map = this.newDictionary();
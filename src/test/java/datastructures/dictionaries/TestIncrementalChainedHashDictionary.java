@@ -0,0 +1,59 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.KVPair;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestIncrementalChainedHashDictionary extends TestChainedHashDictionary {
+    @Override
+    protected <K, V> IDictionary<K, V> newDictionary() {
+        return new ChainedHashDictionary<>(0, true);
+    }
+
+    @Test(timeout=SECOND)
+    public void testIteratorDuringMigration() {
+        IDictionary<Integer, Integer> dict = this.newDictionary();
+        // Checking after every put means we look at the dictionary at every
+        // point of several migrations, not just between them.
+        for (int i = 0; i < 400; i++) {
+            dict.put(i, i * 2);
+
+            boolean[] seen = new boolean[i + 1];
+            int count = 0;
+            for (KVPair<Integer, Integer> pair : dict) {
+                int key = pair.getKey();
+                assertFalse(seen[key]);
+                seen[key] = true;
+                assertEquals(key * 2, pair.getValue());
+                count++;
+            }
+            assertEquals(i + 1, count);
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveAndUpdateDuringMigration() {
+        IDictionary<Integer, Integer> dict = this.newDictionary();
+        for (int i = 0; i < 1000; i++) {
+            dict.put(i, i);
+            if (i % 3 == 0) {
+                dict.remove(i / 3);
+                dict.put(i / 3, -i);
+            }
+            if (i % 7 == 0) {
+                dict.put(i / 2, i);
+            }
+        }
+
+        assertEquals(1000, dict.size());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(dict.containsKey(i));
+        }
+        assertEquals(-999, dict.get(333));
+        assertFalse(dict.containsKey(1000));
+    }
+}
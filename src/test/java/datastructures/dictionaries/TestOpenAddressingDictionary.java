@@ -0,0 +1,67 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.dictionaries.OpenAddressingDictionary;
+import datastructures.interfaces.IDictionary;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestOpenAddressingDictionary extends TestDictionary {
+    protected <K, V> IDictionary<K, V> newDictionary() {
+        return new OpenAddressingDictionary<>();
+    }
+
+    @Test(timeout=SECOND)
+    public void testManyObjectsWithSameHashCode() {
+        IDictionary<Wrapper<String>, Integer> map = this.newDictionary();
+        for (int i = 0; i < 1000; i++) {
+            map.put(new Wrapper<>("" + i, 0), i);
+        }
+
+        assertEquals(1000, map.size());
+
+        for (int i = 999; i >= 0; i--) {
+            String key = "" + i;
+            assertEquals(i, map.get(new Wrapper<>(key, 0)));
+
+            assertFalse(map.containsKey(new Wrapper<>(key + "a", 0)));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveFromMiddleOfCollidingRun() {
+        IDictionary<Wrapper<String>, Integer> map = this.newDictionary();
+        for (int i = 0; i < 50; i++) {
+            map.put(new Wrapper<>("" + i, i % 3), i);
+        }
+
+        for (int i = 0; i < 50; i += 2) {
+            assertEquals(i, map.remove(new Wrapper<>("" + i, i % 3)));
+        }
+
+        assertEquals(25, map.size());
+        for (int i = 0; i < 50; i++) {
+            Wrapper<String> key = new Wrapper<>("" + i, i % 3);
+            if (i % 2 == 0) {
+                assertFalse(map.containsKey(key));
+            } else {
+                assertTrue(map.containsKey(key));
+                assertEquals(i, map.get(key));
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testPreSizedDictionary() {
+        IDictionary<Integer, Integer> map = new OpenAddressingDictionary<>(1000);
+        for (int i = 0; i < 5000; i++) {
+            map.put(i, -i);
+        }
+        assertEquals(5000, map.size());
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(-i, map.getOrDefault(i, 1));
+        }
+        assertEquals(1, map.getOrDefault(5000, 1));
+    }
+}
@@ -1,12 +1,17 @@
 package datastructures.sorting;
 
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import misc.BaseTest;
 import datastructures.concrete.ArrayHeap;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
 import datastructures.interfaces.IPriorityQueue;
 import org.junit.Test;
 
+import java.util.Random;
+
 /**
  * See spec for details on what kinds of tests this class should include.
  */
@@ -22,4 +27,110 @@ public class TestArrayHeapFunctionality extends BaseTest {
         assertEquals(1, heap.size());
         assertTrue(!heap.isEmpty());
     }
+
+    @Test(timeout=SECOND)
+    public void testRandomInsertsComeOutSorted() {
+        IPriorityQueue<Integer> heap = this.makeInstance();
+        Random rand = new Random(373);
+        for (int i = 0; i < 1000; i++) {
+            heap.insert(rand.nextInt(100));
+        }
+        int previous = Integer.MIN_VALUE;
+        while (!heap.isEmpty()) {
+            int next = heap.removeMin();
+            assertTrue(next >= previous);
+            previous = next;
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testHeapifyList() {
+        IList<Integer> items = new DoubleLinkedList<>();
+        Random rand = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            items.add(rand.nextInt(500));
+        }
+        IPriorityQueue<Integer> heap = new ArrayHeap<>(items);
+        assertEquals(1000, heap.size());
+        assertEquals(1000, items.size());
+
+        heap.insert(-1);
+        int previous = heap.removeMin();
+        assertEquals(-1, previous);
+        while (!heap.isEmpty()) {
+            int next = heap.removeMin();
+            assertTrue(next >= previous);
+            previous = next;
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testHeapifyArrayIsCopied() {
+        Integer[] items = {5, 3, 8, 1};
+        IPriorityQueue<Integer> heap = new ArrayHeap<>(items);
+        items[0] = -100;
+        assertEquals(1, heap.removeMin());
+        assertEquals(3, heap.removeMin());
+
+        try {
+            new ArrayHeap<>(new Integer[] {1, null});
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testInsertAllThenDrain() {
+        IPriorityQueue<Integer> heap = this.makeInstance();
+        Random rand = new Random(25);
+        IList<Integer> items = new DoubleLinkedList<>();
+        for (int i = 0; i < 500; i++) {
+            items.add(rand.nextInt(1000));
+        }
+        // first batch lands in an empty heap, the second in a bigger one
+        heap.insertAll(items);
+        Integer[] more = new Integer[100];
+        for (int i = 0; i < more.length; i++) {
+            more[i] = rand.nextInt(1000);
+        }
+        heap.insertAll(more);
+        assertEquals(600, heap.size());
+
+        IList<Integer> output = new DoubleLinkedList<>();
+        assertEquals(250, heap.drainTo(output, 250));
+        assertEquals(350, heap.size());
+        assertEquals(350, heap.drainTo(output, 1000));
+        assertTrue(heap.isEmpty());
+        assertEquals(600, output.size());
+        int previous = Integer.MIN_VALUE;
+        for (int item : output) {
+            assertTrue(item >= previous);
+            previous = item;
+        }
+
+        assertEquals(0, heap.drainTo(output, 5));
+        try {
+            heap.drainTo(output, -1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testInsertAllWithNullLeavesHeapUnchanged() {
+        IPriorityQueue<Integer> heap = this.makeInstance();
+        heap.insert(4);
+        heap.insert(2);
+        try {
+            heap.insertAll(new Integer[] {1, 3, null, 0});
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        assertEquals(2, heap.size());
+        assertEquals(2, heap.removeMin());
+        assertEquals(4, heap.removeMin());
+    }
 }
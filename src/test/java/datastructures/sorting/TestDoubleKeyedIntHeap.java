@@ -0,0 +1,87 @@
+package datastructures.sorting;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import misc.BaseTest;
+import datastructures.concrete.DoubleKeyedIntHeap;
+import misc.exceptions.EmptyContainerException;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class TestDoubleKeyedIntHeap extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testContainsTracksInsertAndRemove() {
+        DoubleKeyedIntHeap heap = new DoubleKeyedIntHeap(2);
+        heap.insert(7, 2.5);
+        heap.insert(1, 0.5);
+        assertTrue(heap.contains(7));
+        assertFalse(heap.contains(3));
+        assertEquals(1, heap.peekMin());
+        assertEquals(0.5, heap.peekMinKey(), 0.0);
+        assertEquals(1, heap.removeMin());
+        assertFalse(heap.contains(1));
+        assertEquals(1, heap.size());
+
+        try {
+            heap.insert(7, 1.0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            heap.decreaseKey(7, 3.0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            heap.decreaseKey(1, 0.0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+
+        heap.removeMin();
+        try {
+            heap.removeMin();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testDecreaseKeyMatchesLinearScan() {
+        Random rand = new Random(22);
+        int numValues = 2000;
+        double[] keys = new double[numValues];
+        boolean[] queued = new boolean[numValues];
+        DoubleKeyedIntHeap heap = new DoubleKeyedIntHeap();
+        for (int i = 0; i < 50000; i++) {
+            int value = rand.nextInt(numValues);
+            int action = rand.nextInt(3);
+            if (action == 0 && !queued[value]) {
+                keys[value] = rand.nextDouble() * 100;
+                queued[value] = true;
+                heap.insert(value, keys[value]);
+            } else if (action == 1 && queued[value]) {
+                keys[value] -= rand.nextDouble() * 10;
+                heap.decreaseKey(value, keys[value]);
+            } else if (action == 2 && !heap.isEmpty()) {
+                double smallest = Double.POSITIVE_INFINITY;
+                for (int v = 0; v < numValues; v++) {
+                    if (queued[v]) {
+                        smallest = Math.min(smallest, keys[v]);
+                    }
+                }
+                assertEquals(smallest, heap.peekMinKey(), 0.0);
+                int removed = heap.removeMin();
+                assertEquals(smallest, keys[removed], 0.0);
+                queued[removed] = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package datastructures.sorting;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import misc.BaseTest;
+import datastructures.concrete.IndexedArrayHeap;
+import datastructures.interfaces.IIndexedPriorityQueue;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+
+public class TestIndexedArrayHeap extends BaseTest {
+    protected <T extends Comparable<T>> IIndexedPriorityQueue<T> makeInstance() {
+        return new IndexedArrayHeap<>();
+    }
+
+    /**
+     * A mutable element whose priority can be lowered after being inserted.
+     */
+    private static class Entry implements Comparable<Entry> {
+        public int priority;
+
+        public Entry(int priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return Integer.compare(this.priority, other.priority);
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testContainsTracksInsertAndRemove() {
+        IIndexedPriorityQueue<Integer> heap = this.makeInstance();
+        heap.insert(5);
+        heap.insert(3);
+        assertTrue(heap.contains(5));
+        assertTrue(heap.contains(3));
+        assertFalse(heap.contains(4));
+
+        assertEquals(3, heap.removeMin());
+        assertFalse(heap.contains(3));
+        assertTrue(heap.contains(5));
+    }
+
+    @Test(timeout=SECOND)
+    public void testDuplicateInsertNotPermitted() {
+        IIndexedPriorityQueue<Integer> heap = this.makeInstance();
+        heap.insert(1);
+        try {
+            heap.insert(1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testDecreaseKeyMissingItem() {
+        IIndexedPriorityQueue<Integer> heap = this.makeInstance();
+        heap.insert(1);
+        try {
+            heap.decreaseKey(2);
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testDecreaseKeyMovesItemToFront() {
+        IIndexedPriorityQueue<Entry> heap = this.makeInstance();
+        Entry[] entries = new Entry[100];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = new Entry(1000 + i);
+            heap.insert(entries[i]);
+        }
+
+        entries[77].priority = 0;
+        heap.decreaseKey(entries[77]);
+        entries[42].priority = 1;
+        heap.decreaseKey(entries[42]);
+
+        assertEquals(100, heap.size());
+        assertTrue(heap.removeMin() == entries[77]);
+        assertTrue(heap.removeMin() == entries[42]);
+
+        int previous = -1;
+        while (!heap.isEmpty()) {
+            Entry next = heap.removeMin();
+            assertTrue(next.priority >= previous);
+            previous = next.priority;
+        }
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testDecreaseKeyStress() {
+        IIndexedPriorityQueue<Entry> heap = this.makeInstance();
+        int cap = 20000;
+        Entry[] entries = new Entry[cap];
+        for (int i = 0; i < cap; i++) {
+            entries[i] = new Entry(cap + i);
+            heap.insert(entries[i]);
+        }
+        for (int i = 0; i < cap; i++) {
+            entries[i].priority = cap - i;
+            heap.decreaseKey(entries[i]);
+        }
+        for (int i = cap - 1; i >= 0; i--) {
+            assertTrue(heap.removeMin() == entries[i]);
+        }
+        assertTrue(heap.isEmpty());
+    }
+}
@@ -0,0 +1,120 @@
+package datastructures.sorting;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import misc.BaseTest;
+import datastructures.concrete.DoubleKeyedIntHeap;
+import datastructures.concrete.MonotoneBucketQueue;
+import misc.exceptions.EmptyContainerException;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class TestMonotoneBucketQueue extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testCanHoldOnlyKeysInWindow() {
+        MonotoneBucketQueue queue = new MonotoneBucketQueue(10, 4);
+        assertTrue(queue.canHold(1000));
+        assertFalse(queue.canHold(2.5));
+        queue.insert(0, 100);
+        assertTrue(queue.canHold(100));
+        assertTrue(queue.canHold(110));
+        assertFalse(queue.canHold(111));
+        assertFalse(queue.canHold(99));
+
+        try {
+            queue.insert(1, 111);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            queue.insert(0, 105);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+
+        queue.insert(9, 104);
+        queue.decreaseKey(9, 100);
+        assertEquals(2, queue.size());
+        assertEquals(100.0, queue.peekMinKey(), 0.0);
+        queue.removeMin();
+        queue.removeMin();
+        assertTrue(queue.isEmpty());
+        try {
+            queue.removeMin();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testEmptyQueueKeepsLastRemovedKeyAsFloor() {
+        MonotoneBucketQueue queue = new MonotoneBucketQueue(54, 4);
+        queue.insert(0, 0);
+        queue.removeMin();
+        queue.insert(1, 27);
+        assertTrue(queue.canHold(26));
+        queue.insert(2, 26);
+        assertEquals(2, queue.removeMin());
+        assertEquals(1, queue.removeMin());
+
+        queue.insert(3, 53);
+        assertTrue(queue.canHold(27));
+        assertFalse(queue.canHold(26));
+        assertEquals(3, queue.removeMin());
+
+        // a key outside the window moves the floor of an empty queue
+        queue.insert(0, 500);
+        assertFalse(queue.canHold(499));
+        assertTrue(queue.canHold(554));
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testDijkstraLikeUseMatchesHeap() {
+        Random rand = new Random(31);
+        int span = 20;
+        int numValues = 5000;
+        MonotoneBucketQueue queue = new MonotoneBucketQueue(span, 0);
+        DoubleKeyedIntHeap heap = new DoubleKeyedIntHeap();
+        double[] keys = new double[numValues];
+        boolean[] done = new boolean[numValues];
+        queue.insert(0, 0);
+        heap.insert(0, 0);
+
+        while (!heap.isEmpty()) {
+            assertEquals(heap.size(), queue.size());
+            double expectedKey = heap.peekMinKey();
+            assertEquals(expectedKey, queue.peekMinKey(), 0.0);
+            int value = queue.removeMin();
+            assertEquals(expectedKey, keys[value], 0.0);
+            // ties may be broken differently, so pull the same value out of the heap
+            heap.decreaseKey(value, Double.NEGATIVE_INFINITY);
+            assertEquals(value, heap.removeMin());
+            done[value] = true;
+
+            // "relax" a few random edges of weight 0 .. span
+            for (int i = 0; i < 3; i++) {
+                int other = rand.nextInt(numValues);
+                double key = expectedKey + rand.nextInt(span + 1);
+                if (done[other]) {
+                    continue;
+                }
+                if (!queue.contains(other)) {
+                    keys[other] = key;
+                    queue.insert(other, key);
+                    heap.insert(other, key);
+                } else if (key < keys[other]) {
+                    keys[other] = key;
+                    queue.decreaseKey(other, key);
+                    heap.decreaseKey(other, key);
+                }
+            }
+        }
+        assertTrue(queue.isEmpty());
+    }
+}
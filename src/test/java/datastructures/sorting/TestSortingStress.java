@@ -10,7 +10,11 @@ import datastructures.concrete.DoubleLinkedList;
 import datastructures.interfaces.IList;
 import datastructures.interfaces.IPriorityQueue;
 
+import java.util.PriorityQueue;
+import java.util.Random;
+
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 ///
 /**
@@ -54,4 +58,101 @@ public class TestSortingStress extends BaseTest {
             assertEquals(cap/3, top.size());
         }
     }
+
+    @Test(timeout=10*SECOND)
+    public void testHeapMatchesPriorityQueue() {
+        Random rand = new Random(2018);
+        IPriorityQueue<Integer> heap = this.makeInstance();
+        PriorityQueue<Integer> expected = new PriorityQueue<>();
+        for (int i = 0; i < 200000; i++) {
+            // lean towards inserts so the heap grows through several resizes,
+            // but drain it completely every so often
+            int action = rand.nextInt(10);
+            if (action < 6 || expected.isEmpty()) {
+                int item = rand.nextInt(1000);
+                heap.insert(item);
+                expected.add(item);
+            } else if (action < 9) {
+                assertEquals(expected.poll(), heap.removeMin());
+            } else {
+                assertEquals(expected.peek(), heap.peekMin());
+            }
+            assertEquals(expected.size(), heap.size());
+
+            if (i % 50000 == 0) {
+                while (!expected.isEmpty()) {
+                    assertEquals(expected.poll(), heap.removeMin());
+                }
+                assertTrue(heap.isEmpty());
+            }
+        }
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testHeapifyMatchesPriorityQueue() {
+        Random rand = new Random(4);
+        for (int size = 0; size < 300; size++) {
+            Integer[] items = new Integer[size];
+            PriorityQueue<Integer> expected = new PriorityQueue<>();
+            for (int i = 0; i < size; i++) {
+                items[i] = rand.nextInt(50);
+                expected.add(items[i]);
+            }
+            IPriorityQueue<Integer> heap = new ArrayHeap<>(items);
+            assertEquals(size, heap.size());
+            while (!expected.isEmpty()) {
+                assertEquals(expected.poll(), heap.removeMin());
+            }
+            assertTrue(heap.isEmpty());
+        }
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testEveryArityMatchesPriorityQueue() {
+        Random rand = new Random(9);
+        for (int arity = 2; arity <= 9; arity++) {
+            Integer[] start = new Integer[1000];
+            for (int i = 0; i < start.length; i++) {
+                start[i] = rand.nextInt(5000);
+            }
+            // cycle through building from an array, from a list, and from nothing
+            IPriorityQueue<Integer> heap;
+            PriorityQueue<Integer> expected = new PriorityQueue<>();
+            if (arity % 3 == 2) {
+                heap = new ArrayHeap<>(arity);
+            } else {
+                IList<Integer> startList = new DoubleLinkedList<>();
+                for (Integer item : start) {
+                    expected.add(item);
+                    startList.add(item);
+                }
+                heap = arity % 3 == 0 ? new ArrayHeap<>(start, arity) : new ArrayHeap<>(startList, arity);
+            }
+            for (int i = 0; i < 20000; i++) {
+                if (rand.nextBoolean() || expected.isEmpty()) {
+                    int item = rand.nextInt(5000);
+                    heap.insert(item);
+                    expected.add(item);
+                } else {
+                    assertEquals(expected.poll(), heap.removeMin());
+                }
+            }
+            while (!expected.isEmpty()) {
+                assertEquals(expected.poll(), heap.removeMin());
+            }
+        }
+
+        try {
+            new ArrayHeap<Integer>(1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            new ArrayHeap<Integer>(new DoubleLinkedList<>(), 1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
 }